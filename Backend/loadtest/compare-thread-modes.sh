@@ -0,0 +1,51 @@
+#!/bin/bash
+
+# Starts the backend jar once with platform threads and once with virtual threads against
+# the same database and runs ThreadModeLoadTest (login, then task list) in each mode.
+# Virtual threads need a Java 21+ runtime; on Java 17 both runs use platform threads.
+#
+# Usage: ./loadtest/compare-thread-modes.sh [clients] [seconds]
+# Env:   JAR (default target/projectspring-*.jar), PORT (default 8090),
+#        LOADTEST_USER / LOADTEST_PASSWORD (a local user, default admin / admin)
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+CLIENTS=${1:-64}
+SECONDS_PER_SCENARIO=${2:-30}
+PORT=${PORT:-8090}
+JAR=${JAR:-$(ls target/*.jar 2>/dev/null | grep -v original | head -n 1)}
+USER_NAME=${LOADTEST_USER:-admin}
+USER_PASSWORD=${LOADTEST_PASSWORD:-admin}
+
+if [ -z "$JAR" ]; then
+    echo "No jar found - run 'mvn -DskipTests package' first"
+    exit 1
+fi
+
+echo "Java runtime: $(java -version 2>&1 | head -n 1)"
+
+for MODE in false true; do
+    echo ""
+    echo "=== VIRTUAL_THREADS_ENABLED=$MODE ==="
+    VIRTUAL_THREADS_ENABLED=$MODE SERVER_PORT=$PORT LOG_LEVEL=WARN SECURITY_LOG_LEVEL=WARN \
+        java -jar "$JAR" > "target/loadtest-virtual-$MODE.log" 2>&1 &
+    APP_PID=$!
+    trap "kill $APP_PID 2>/dev/null" EXIT
+
+    for i in $(seq 1 90); do
+        if curl -s -o /dev/null "http://localhost:$PORT/health"; then
+            break
+        fi
+        sleep 1
+    done
+
+    for SCENARIO in login tasks; do
+        java src/loadtest/java/com/projectspring/loadtest/ThreadModeLoadTest.java "http://localhost:$PORT" \
+            "$USER_NAME" "$USER_PASSWORD" "$CLIENTS" "$SECONDS_PER_SCENARIO" "$SCENARIO"
+    done
+
+    kill $APP_PID
+    wait $APP_PID 2>/dev/null || true
+done
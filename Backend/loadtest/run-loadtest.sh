@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Starts PostgreSQL from the root docker-compose.yml (and with --ldap the ldap_test OpenLDAP
+# container), creates the projectspring_loadtest database and runs the LoadTestHarness via
+# the loadtest Maven profile. The first run seeds synthetic data (SEED_SYNTHETIC_* env vars).
+#
+# Usage: ./loadtest/run-loadtest.sh [--ldap] [extra mvn -D options]
+# Example: ./loadtest/run-loadtest.sh -Dloadtest.clients=16,64 -Dloadtest.mix=login=1
+
+set -e
+
+cd "$(dirname "$0")/.."
+ROOT=$(cd .. && pwd)
+
+LDAP=false
+if [ "$1" = "--ldap" ]; then
+    LDAP=true
+    shift
+fi
+
+docker compose -f "$ROOT/docker-compose.yml" up -d postgres
+for i in $(seq 1 60); do
+    if docker exec projectspring-db pg_isready -U postgres > /dev/null 2>&1; then
+        break
+    fi
+    sleep 1
+done
+docker exec projectspring-db psql -U postgres -tc "SELECT 1 FROM pg_database WHERE datname = 'projectspring_loadtest'" \
+    | grep -q 1 || docker exec projectspring-db createdb -U postgres projectspring_loadtest
+
+LDAP_ARGS=""
+if [ "$LDAP" = true ]; then
+    # ldap_test joins this network as external; it only exists when the root compose project is named projectspring
+    docker network inspect projectspring_projectspring-network > /dev/null 2>&1 \
+        || docker network create projectspring_projectspring-network > /dev/null
+    docker compose -f "$ROOT/ldap_test/docker-compose.yml" up -d ldap
+    for i in $(seq 1 60); do
+        if docker exec ldap-test ldapsearch -x -H ldap://localhost -b dc=test,dc=local \
+            -D "cn=admin,dc=test,dc=local" -w admin123 > /dev/null 2>&1; then
+            break
+        fi
+        sleep 1
+    done
+    docker exec ldap-test bash /init-users.sh > /dev/null
+    LDAP_ARGS="-Dloadtest.ldap.url=ldap://localhost:389"
+fi
+
+mvn -B -Ploadtest verify -DskipTests $LDAP_ARGS "$@"
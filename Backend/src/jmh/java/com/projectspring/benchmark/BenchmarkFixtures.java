@@ -0,0 +1,140 @@
+package com.projectspring.benchmark;
+
+import com.projectspring.dto.SubtaskDTO;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.model.Project;
+import com.projectspring.model.Subtask;
+import com.projectspring.model.Task;
+import com.projectspring.model.Team;
+import com.projectspring.model.User;
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.model.enums.TaskType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Object graphs shaped like production data (team, project, creator, assignees, subtasks)
+ * without a database. Back-references that would make Lombok hashCode recurse
+ * (project.tasks, team.tasks) are left empty.
+ */
+final class BenchmarkFixtures {
+
+    private static final String CONTENT = "Müşteri portalında rapor ekranı yavaş açılıyor; sorgu ve DTO dönüşümü "
+        + "incelenecek, gerekirse sayfalama eklenecek. Test ortamında 10k kayıt ile doğrulanmalı.";
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setFullName("Kullanıcı " + id);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return user;
+    }
+
+    static Team team(long id) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName("Takım " + id);
+        team.setColor("#89b4fa");
+        team.setIcon("code");
+        return team;
+    }
+
+    static Project project(long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Proje " + id);
+        return project;
+    }
+
+    static Task task(long id, LocalDate startDate, int assignees, int subtasks) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("İş " + id);
+        task.setContent(CONTENT);
+        task.setStartDate(startDate);
+        task.setEndDate(startDate.plusDays(5));
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setTaskType(TaskType.TASK);
+        task.setPriority(Priority.NORMAL);
+        task.setTeam(team(1 + id % 8));
+        task.setProject(project(1 + id % 20));
+        task.setCreatedBy(user(1));
+        task.setAssignees(new LinkedHashSet<>());
+        for (int i = 0; i < assignees; i++) {
+            task.getAssignees().add(user(100 + i));
+        }
+        task.setSubtasks(new LinkedHashSet<>());
+        for (int i = 0; i < subtasks; i++) {
+            Subtask subtask = new Subtask();
+            subtask.setId(id * 100 + i);
+            subtask.setTask(task);
+            subtask.setTitle("Alt iş " + i);
+            subtask.setContent(CONTENT);
+            subtask.setStartDate(startDate);
+            subtask.setEndDate(startDate.plusDays(1 + i % 4));
+            subtask.setAssignee(user(100 + i % Math.max(1, assignees)));
+            subtask.setIsCompleted(i % 3 == 0);
+            task.getSubtasks().add(subtask);
+        }
+        return task;
+    }
+
+    static TaskDTO taskDto(long id, LocalDate startDate, int assignees, int subtasks) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(id);
+        dto.setTitle("İş " + id);
+        dto.setContent(CONTENT);
+        dto.setStartDate(startDate);
+        dto.setEndDate(startDate.plusDays(5));
+        dto.setStatus(TaskStatus.IN_PROGRESS);
+        dto.setTaskType(TaskType.TASK);
+        dto.setPriority(Priority.NORMAL);
+        dto.setTeamId(1 + id % 8);
+        dto.setTeamName("Takım " + (1 + id % 8));
+        dto.setCreatedById(1L);
+        dto.setCreatedByName("Kullanıcı 1");
+        dto.setAssigneeIds(new LinkedHashSet<>());
+        dto.setAssigneeNames(new ArrayList<>());
+        for (int i = 0; i < assignees; i++) {
+            dto.getAssigneeIds().add(100L + i);
+            dto.getAssigneeNames().add("Kullanıcı " + (100 + i));
+        }
+        dto.setSubtasks(new ArrayList<>());
+        for (int i = 0; i < subtasks; i++) {
+            SubtaskDTO subtask = new SubtaskDTO();
+            subtask.setId(id * 100 + i);
+            subtask.setTitle("Alt iş " + i);
+            subtask.setStartDate(startDate);
+            subtask.setEndDate(startDate.plusDays(1));
+            subtask.setIsCompleted(false);
+            dto.getSubtasks().add(subtask);
+        }
+        dto.setIsPostponed(false);
+        return dto;
+    }
+
+    /**
+     * A year of task DTOs with start dates spread over all months (fixed seed, so every run sees the same data).
+     */
+    static List<TaskDTO> yearOfTasks(int year, int count) {
+        Random random = new Random(42);
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        LocalDate first = LocalDate.of(year, 1, 1);
+        for (int i = 0; i < count; i++) {
+            tasks.add(taskDto(i, first.plusDays(random.nextInt(first.lengthOfYear())), 2, 3));
+        }
+        return tasks;
+    }
+}
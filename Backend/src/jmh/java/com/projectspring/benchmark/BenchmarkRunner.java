@@ -0,0 +1,124 @@
+package com.projectspring.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the JMH benchmarks and writes one sorted, tab-separated line per benchmark
+ * (name, mode, unit, score, error) so two result files can be compared with plain diff.
+ * With -Dbench.baseline=&lt;results.tsv&gt; every score is compared against that file and the
+ * run fails when a benchmark got slower than -Dbench.threshold percent.
+ */
+public final class BenchmarkRunner {
+
+    private static final String HEADER = "# benchmark\tmode\tunit\tscore\terror";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("bench.include", ".*");
+        Path output = Path.of(System.getProperty("bench.output", "target/jmh/results.tsv"));
+        String baseline = System.getProperty("bench.baseline", "");
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "10"));
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+            .include(include.isBlank() ? ".*" : include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(output.resolveSibling("jmh-result.json").toString())
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Row> rows = new TreeMap<>();
+        for (RunResult result : results) {
+            Row row = Row.of(result);
+            rows.put(row.name(), row);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        rows.values().forEach(row -> lines.add(row.format()));
+        Files.write(output, lines, StandardCharsets.UTF_8);
+        System.out.println("Benchmark results written to " + output.toAbsolutePath());
+
+        if (!baseline.isBlank()) {
+            int regressions = compare(read(Path.of(baseline)), rows, threshold);
+            if (regressions > 0) {
+                System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+                System.exit(1);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static int compare(Map<String, Row> baseline, Map<String, Row> current, double threshold) {
+        System.out.printf("%n%-70s %12s %12s %9s%n", "benchmark", "baseline", "current", "change");
+        int regressions = 0;
+        for (Row row : current.values()) {
+            Row before = baseline.get(row.name());
+            if (before == null || !before.unit().equals(row.unit()) || before.score() == 0) {
+                System.out.printf("%-70s %12s %12.3f %9s%n", row.name(), "-", row.score(), "new");
+                continue;
+            }
+            double change = (row.score() - before.score()) / before.score() * 100;
+            // Average/sample/single-shot time: lower is better; throughput: higher is better
+            boolean slower = "thrpt".equals(row.mode()) ? change < -threshold : change > threshold;
+            if (slower) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f %12.3f %+8.1f%% %s%n", row.name(), before.score(), row.score(), change,
+                slower ? "REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+            .filter(line -> !line.isBlank() && !line.startsWith("#"))
+            .map(Row::parse)
+            .collect(Collectors.toMap(Row::name, row -> row, (a, b) -> b, TreeMap::new));
+    }
+
+    private record Row(String name, String mode, String unit, double score, double error) {
+
+        static Row of(RunResult result) {
+            String benchmark = result.getParams().getBenchmark();
+            // com.projectspring.benchmark.JwtBenchmark.validateToken -> JwtBenchmark.validateToken
+            String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            List<String> params = new ArrayList<>();
+            for (String key : result.getParams().getParamsKeys()) {
+                params.add(key + "=" + result.getParams().getParam(key));
+            }
+            if (!params.isEmpty()) {
+                name += "[" + String.join(",", params) + "]";
+            }
+            return new Row(name, result.getParams().getMode().shortLabel(),
+                result.getPrimaryResult().getScoreUnit(),
+                result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreError());
+        }
+
+        static Row parse(String line) {
+            String[] parts = line.split("\t");
+            return new Row(parts[0], parts[1], parts[2], Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%s\t%s\t%s\t%.3f\t%.3f", name, mode, unit, score, error);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.projectspring.benchmark;
+
+import com.projectspring.controller.CalendarController;
+import com.projectspring.dto.CalendarViewDTO;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.dto.TaskField;
+import com.projectspring.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CalendarController month and week bucketing over a year of tasks; the task query is stubbed out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarBucketingBenchmark {
+
+    private static final int YEAR = 2025;
+
+    @Param({"500", "10000"})
+    private int tasks;
+
+    private CalendarController controller;
+
+    @Setup
+    public void setUp() {
+        List<TaskDTO> yearOfTasks = BenchmarkFixtures.yearOfTasks(YEAR, tasks);
+        TaskService stub = new TaskService() {
+            @Override
+            public List<TaskDTO> getTasks(Long teamId, Integer year, Integer month, Long projectId,
+                                          Set<TaskField> fields) {
+                return month == null
+                    ? yearOfTasks
+                    : yearOfTasks.stream().filter(t -> t.getStartDate().getMonthValue() == month).toList();
+            }
+        };
+        controller = new CalendarController();
+        ReflectionTestUtils.setField(controller, "taskService", stub);
+    }
+
+    @Benchmark
+    public ResponseEntity<CalendarViewDTO> calendarByYear() {
+        return controller.getCalendarByYear(YEAR, null, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, List<TaskDTO>>> calendarByMonth() {
+        return controller.getCalendarByMonth(YEAR, 6, null, null, null, null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.projectspring.benchmark;
+
+import com.projectspring.service.EncryptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptionService round trip for the LDAP bind password (runs on every LDAP settings refresh/test).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptionBenchmark {
+
+    private EncryptionService encryptionService;
+    private String plainText;
+    private String cipherText;
+
+    @Setup
+    public void setUp() {
+        encryptionService = new EncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey",
+            "benchmark-encryption-key-min-32-chars-long");
+        plainText = "ldap-admin-password-1234";
+        cipherText = encryptionService.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionService.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(cipherText);
+    }
+}
@@ -0,0 +1,57 @@
+package com.projectspring.benchmark;
+
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.model.Task;
+import com.projectspring.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.convertToDTO (private, reached through a MethodHandle) on one task graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskConversionBenchmark {
+
+    @Param({"1", "5"})
+    private int assignees;
+
+    @Param({"0", "10"})
+    private int subtasks;
+
+    private TaskService taskService;
+    private MethodHandle convertToDTO;
+    private Task task;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        taskService = new TaskService();
+        convertToDTO = MethodHandles.privateLookupIn(TaskService.class, MethodHandles.lookup())
+            .findVirtual(TaskService.class, "convertToDTO", MethodType.methodType(TaskDTO.class, Task.class));
+        task = BenchmarkFixtures.task(1L, LocalDate.of(2025, 3, 14), assignees, subtasks);
+    }
+
+    @Benchmark
+    public TaskDTO convertToDTO() throws Throwable {
+        return (TaskDTO) convertToDTO.invoke(taskService, task);
+    }
+}
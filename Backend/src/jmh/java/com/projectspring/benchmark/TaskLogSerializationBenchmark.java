@@ -0,0 +1,75 @@
+package com.projectspring.benchmark;
+
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.model.Task;
+import com.projectspring.model.TaskLog;
+import com.projectspring.model.User;
+import com.projectspring.repository.TaskLogRepository;
+import com.projectspring.service.TaskLogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskLogService.logTaskAction: JSON serialisation of the old/new TaskDTO snapshots.
+ * The repository is a proxy that keeps the built TaskLog instead of saving it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskLogSerializationBenchmark {
+
+    @Param({"0", "10"})
+    private int subtasks;
+
+    private TaskLogService taskLogService;
+    private Task task;
+    private User user;
+    private TaskDTO oldValue;
+    private TaskDTO newValue;
+    private TaskLog lastSaved;
+
+    @Setup
+    public void setUp() {
+        TaskLogRepository repository = (TaskLogRepository) Proxy.newProxyInstance(
+            TaskLogRepository.class.getClassLoader(),
+            new Class<?>[]{TaskLogRepository.class},
+            (proxy, method, args) -> {
+                if ("save".equals(method.getName()) && args != null && args[0] instanceof TaskLog log) {
+                    lastSaved = log;
+                    return log;
+                }
+                return null;
+            });
+        taskLogService = new TaskLogService();
+        ReflectionTestUtils.setField(taskLogService, "taskLogRepository", repository);
+
+        LocalDate start = LocalDate.of(2025, 3, 14);
+        task = BenchmarkFixtures.task(1L, start, 3, subtasks);
+        user = BenchmarkFixtures.user(1L);
+        oldValue = BenchmarkFixtures.taskDto(1L, start, 3, subtasks);
+        newValue = BenchmarkFixtures.taskDto(1L, start.plusDays(7), 3, subtasks);
+    }
+
+    @Benchmark
+    public TaskLog logTaskAction() {
+        taskLogService.logTaskAction(task, "UPDATED", user, "Benchmark", oldValue, newValue);
+        return lastSaved;
+    }
+}
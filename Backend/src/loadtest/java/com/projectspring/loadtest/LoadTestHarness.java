@@ -0,0 +1,163 @@
+package com.projectspring.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectspring.ProjectSpringApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: boots the application in this JVM against a local PostgreSQL (and,
+ * optionally, the ldap_test OpenLDAP container), seeds or reads the test data and hands over to
+ * the {@link ThreadModeLoadTest} driver, adding SQL statement counts per scenario. Configured
+ * with -Dloadtest.* system properties, see docs/benchmarks.md.
+ */
+public final class LoadTestHarness {
+
+    private static final String DEFAULT_MIX = "login=10,tasks=35,calendar=15,dashboard=25,status=15";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run());
+    }
+
+    private static int run() throws Exception {
+        String dbUrl = System.getProperty("loadtest.db.url",
+            "jdbc:postgresql://localhost:5432/projectspring_loadtest?reWriteBatchedInserts=true");
+        String dbUser = System.getProperty("loadtest.db.user", "postgres");
+        String dbPassword = System.getProperty("loadtest.db.password", "postgres");
+        boolean seed = Boolean.parseBoolean(System.getProperty("loadtest.seed", "true"));
+        String ldapUrl = System.getProperty("loadtest.ldap.url", "");
+        List<Integer> clientLevels = ThreadModeLoadTest.parseInts(System.getProperty("loadtest.clients", "8,16,32,64"));
+        int warmupSeconds = Integer.parseInt(System.getProperty("loadtest.warmup", "15"));
+        int durationSeconds = Integer.parseInt(System.getProperty("loadtest.duration", "60"));
+        String mixSpec = System.getProperty("loadtest.mix", "");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest/report.tsv"));
+
+        if (mixSpec.isBlank()) {
+            mixSpec = ldapUrl.isBlank() ? DEFAULT_MIX : DEFAULT_MIX + ",ldap-login=10";
+        }
+        Map<String, Integer> mix = ThreadModeLoadTest.parseMix(mixSpec);
+        if (mix.containsKey("ldap-login") && ldapUrl.isBlank()) {
+            throw new IllegalArgumentException("Scenario ldap-login needs -Dloadtest.ldap.url (e.g. ldap://localhost:389)");
+        }
+
+        // Seed only into an empty database so repeated runs measure the same volume
+        boolean generate = seed && !hasSyntheticData(dbUrl, dbUser, dbPassword);
+        String[] appArgs = {
+            "--server.port=0",
+            "--spring.datasource.url=" + dbUrl,
+            "--spring.datasource.username=" + dbUser,
+            "--spring.datasource.password=" + dbPassword,
+            "--app.seed.synthetic.enabled=" + generate,
+            "--app.seed.synthetic.exit-when-done=false",
+            "--logging.level.com.projectspring=WARN",
+            "--logging.level.com.projectspring.security=WARN",
+            "--logging.level.org.springframework.security=WARN"};
+
+        ScenarioStatementCounter statementCounter = new ScenarioStatementCounter();
+        SpringApplication application = new SpringApplication(ProjectSpringApplication.class);
+        application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(statementCounter));
+
+        System.out.println("Starting application against " + dbUrl + (generate ? " (seeding synthetic data)" : ""));
+        ConfigurableApplicationContext context = application.run(appArgs);
+        try {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            ThreadModeLoadTest.Workload workload = prepare(context.getBean(JdbcTemplate.class), baseUrl, ldapUrl);
+            List<String> lines = new ThreadModeLoadTest(workload)
+                .run(mix, clientLevels, warmupSeconds, durationSeconds, statementCounter);
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.write(output, lines, StandardCharsets.UTF_8);
+            System.out.println("\nLoad test report written to " + output.toAbsolutePath());
+            return 0;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ThreadModeLoadTest.Workload prepare(JdbcTemplate jdbcTemplate, String baseUrl, String ldapUrl)
+            throws Exception {
+        String adminUser = System.getProperty("loadtest.admin.user", "admin");
+        String adminPassword = System.getProperty("loadtest.admin.password", "admin");
+        String adminToken = ThreadModeLoadTest.login(HttpClient.newHttpClient(), baseUrl, adminUser, adminPassword);
+
+        List<String> loginUsers = jdbcTemplate.queryForList(
+            "SELECT username FROM users WHERE username LIKE 'syn%' AND is_active = true ORDER BY id LIMIT 500", String.class);
+        String loginPassword = System.getProperty("loadtest.login.password", "synthetic");
+        if (loginUsers.isEmpty()) {
+            loginUsers = List.of(adminUser);
+            loginPassword = adminPassword;
+        }
+        List<Long> teamIds = jdbcTemplate.queryForList("SELECT id FROM teams WHERE is_active = true ORDER BY id", Long.class);
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY id DESC LIMIT 2000", Long.class);
+        List<Integer> years = jdbcTemplate.queryForList(
+            "SELECT DISTINCT CAST(EXTRACT(YEAR FROM start_date) AS INTEGER) FROM tasks ORDER BY 1", Integer.class);
+        if (teamIds.isEmpty() || taskIds.isEmpty()) {
+            throw new IllegalStateException("No teams or tasks in the database - run with -Dloadtest.seed=true");
+        }
+        System.out.printf("Data: %d login users, %d teams, %d tasks for status updates, years %s%n",
+            loginUsers.size(), teamIds.size(), taskIds.size(), years);
+
+        List<String> ldapUsers = List.of();
+        String ldapPassword = "";
+        if (!ldapUrl.isBlank()) {
+            configureLdap(baseUrl, adminToken, ldapUrl);
+            ldapUsers = List.of(System.getProperty("loadtest.ldap.users", "ldap_user1,ldap_user2").split(","));
+            ldapPassword = System.getProperty("loadtest.ldap.password", "ldappass123");
+        }
+        return new ThreadModeLoadTest.Workload(baseUrl, adminToken, loginUsers, loginPassword, ldapUsers, ldapPassword,
+            teamIds, taskIds, years);
+    }
+
+    private static void configureLdap(String baseUrl, String adminToken, String ldapUrl) throws Exception {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("urls", ldapUrl);
+        settings.put("base", System.getProperty("loadtest.ldap.base", "dc=test,dc=local"));
+        settings.put("username", System.getProperty("loadtest.ldap.bind-dn", "cn=admin,dc=test,dc=local"));
+        settings.put("password", System.getProperty("loadtest.ldap.bind-password", "admin123"));
+        settings.put("userSearchBase", "ou=users");
+        settings.put("userSearchFilter", "(uid={0})");
+        settings.put("isEnabled", true);
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/ldap/settings"))
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Content-Type", "application/json")
+                .header(ThreadModeLoadTest.SCENARIO_HEADER, "setup")
+                .PUT(HttpRequest.BodyPublishers.ofString(new ObjectMapper().writeValueAsString(settings)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Saving LDAP settings failed (" + response.statusCode() + "): " + response.body());
+        }
+    }
+
+    private static boolean hasSyntheticData(String url, String user, String password) {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             ResultSet rs = connection.createStatement().executeQuery(
+                 "SELECT EXISTS (SELECT 1 FROM users WHERE username LIKE 'syn%')")) {
+            return rs.next() && rs.getBoolean(1);
+        } catch (SQLException e) {
+            // Schema not created yet - Liquibase runs on first start
+            return false;
+        }
+    }
+}
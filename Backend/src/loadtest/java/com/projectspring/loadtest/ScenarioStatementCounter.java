@@ -0,0 +1,53 @@
+package com.projectspring.loadtest;
+
+import com.projectspring.config.StatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements the application executes, grouped by the X-Load-Scenario header of
+ * the request that issued them. The harness registers it as a bean post-processor that wraps the
+ * DataSource in a {@link StatementCountingDataSource}, so Hibernate, JdbcTemplate and plain JDBC
+ * statements all count and the application code is unchanged. Statements outside a request
+ * (scheduled jobs, outbox workers, startup) are counted under "background".
+ */
+public class ScenarioStatementCounter implements BeanPostProcessor, ThreadModeLoadTest.StatementCounter {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return new StatementCountingDataSource(dataSource,
+                sql -> counts.computeIfAbsent(currentScenario(), key -> new LongAdder()).increment());
+        }
+        return bean;
+    }
+
+    @Override
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((scenario, count) -> snapshot.put(scenario, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public void reset() {
+        counts.clear();
+    }
+
+    private static String currentScenario() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String scenario = attributes.getRequest().getHeader(ThreadModeLoadTest.SCENARIO_HEADER);
+            return scenario != null ? scenario : "untagged";
+        }
+        return "background";
+    }
+}
@@ -0,0 +1,355 @@
+package com.projectspring.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load test: drives a weighted mix of API scenarios at one or more concurrency
+ * levels and reports throughput and latency percentiles per scenario. Used on its own to compare
+ * the platform and virtual thread modes of a running backend; it needs only the JDK, so it runs
+ * with the single-file source launcher, no build needed:
+ *
+ *   java src/loadtest/java/com/projectspring/loadtest/ThreadModeLoadTest.java http://localhost:8080 admin admin 64 30
+ *
+ * Arguments: base URL, username, password, concurrent clients (comma-separated levels), seconds
+ * per level and the scenario mix (default login=1,tasks=1). {@link LoadTestHarness} runs the same
+ * driver against an application it starts itself and adds SQL statement counts per scenario.
+ */
+public final class ThreadModeLoadTest {
+
+    /** Tags every request with its scenario, so server-side counts can be attributed. */
+    public static final String SCENARIO_HEADER = "X-Load-Scenario";
+
+    private static final Set<String> SCENARIOS = Set.of("login", "ldap-login", "tasks", "calendar", "dashboard", "status");
+    private static final String[] STATUS_CYCLE = {"OPEN", "IN_PROGRESS", "TESTING", "COMPLETED"};
+    private static final String HEADER = "# clients\tscenario\trequests\treq/s\tp50 ms\tp95 ms\tp99 ms\tmax ms\terrors\tstatements\tstatements/req";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Workload workload;
+
+    /**
+     * What the scenarios draw from. Without team ids the tasks and calendar scenarios list all
+     * accessible tasks; dashboard needs team ids, status needs task ids and ldap-login LDAP users.
+     */
+    public record Workload(String baseUrl, String adminToken, List<String> loginUsers, String loginPassword,
+                           List<String> ldapUsers, String ldapPassword, List<Long> teamIds, List<Long> taskIds,
+                           List<Integer> years) {
+    }
+
+    /** SQL statements per scenario, available when the application runs in the same JVM. */
+    public interface StatementCounter {
+        void reset();
+
+        Map<String, Long> snapshot();
+    }
+
+    public ThreadModeLoadTest(Workload workload) {
+        this.workload = workload;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String username = args.length > 1 ? args[1] : "admin";
+        String password = args.length > 2 ? args[2] : "admin";
+        List<Integer> clientLevels = parseInts(args.length > 3 ? args[3] : "32");
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        Map<String, Integer> mix = parseMix(args.length > 5 ? args[5] : "login=1,tasks=1");
+
+        String token = login(HttpClient.newHttpClient(), baseUrl, username, password);
+        Workload workload = new Workload(baseUrl, token, List.of(username), password, List.of(), "",
+            List.of(), List.of(), List.of(LocalDate.now().getYear()));
+        // Short warm-up so JIT and connection pools are not part of the measurement
+        new ThreadModeLoadTest(workload).run(mix, clientLevels, Math.max(2, seconds / 10), seconds, null);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the mix at each concurrency level (warm-up, then the measured phase), prints a table
+     * per level and returns the report as tab-separated lines, header first.
+     */
+    public List<String> run(Map<String, Integer> mix, List<Integer> clientLevels, int warmupSeconds,
+                            int durationSeconds, StatementCounter statementCounter) throws InterruptedException {
+        validate(mix);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int clients : clientLevels) {
+            System.out.printf("%n=== %d clients: %d s warm-up, %d s measured, mix %s ===%n",
+                clients, warmupSeconds, durationSeconds, mix);
+            drive(mix, clients, warmupSeconds, new LinkedHashMap<>());
+
+            Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+            mix.keySet().forEach(name -> stats.put(name, new ScenarioStats(name)));
+            if (statementCounter != null) {
+                statementCounter.reset();
+            }
+            long started = System.nanoTime();
+            drive(mix, clients, durationSeconds, stats);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+            lines.addAll(report(clients, stats, statementCounter != null ? statementCounter.snapshot() : null, elapsed));
+        }
+        return lines;
+    }
+
+    /** Logs in over HTTP and returns the JWT. */
+    public static String login(HttpClient http, String baseUrl, String username, String password)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+            loginRequest(baseUrl, username, password, "standard", "setup"), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed (" + response.statusCode() + "): " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    public static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+            if (!SCENARIOS.contains(pair[0].trim())) {
+                throw new IllegalArgumentException("Unknown scenario '" + pair[0].trim() + "', expected one of " + SCENARIOS);
+            }
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no scenario with a positive weight");
+        }
+        return mix;
+    }
+
+    public static List<Integer> parseInts(String spec) {
+        List<Integer> values = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            if (!part.isBlank()) {
+                values.add(Integer.parseInt(part.trim()));
+            }
+        }
+        return values;
+    }
+
+    private void validate(Map<String, Integer> mix) {
+        if (mix.containsKey("ldap-login") && workload.ldapUsers().isEmpty()) {
+            throw new IllegalArgumentException("Scenario ldap-login needs LDAP users (-Dloadtest.ldap.url with LoadTestHarness)");
+        }
+        if (mix.containsKey("dashboard") && workload.teamIds().isEmpty()) {
+            throw new IllegalArgumentException("Scenario dashboard needs team ids - run it through LoadTestHarness");
+        }
+        if (mix.containsKey("status") && workload.taskIds().isEmpty()) {
+            throw new IllegalArgumentException("Scenario status needs task ids - run it through LoadTestHarness");
+        }
+    }
+
+    /** Closed loop: every client sends its next request as soon as the previous one completes. */
+    private void drive(Map<String, Integer> mix, int clients, int seconds, Map<String, ScenarioStats> stats)
+            throws InterruptedException {
+        List<String> names = new ArrayList<>(mix.keySet());
+        int[] cumulative = new int[names.size()];
+        int total = 0;
+        for (int i = 0; i < names.size(); i++) {
+            total += mix.get(names.get(i));
+            cumulative[i] = total;
+        }
+        int weightSum = total;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int pick = random.nextInt(weightSum);
+                    int index = 0;
+                    while (cumulative[index] <= pick) {
+                        index++;
+                    }
+                    String name = names.get(index);
+                    ScenarioStats scenario = stats.get(name);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(build(name, random), HttpResponse.BodyHandlers.discarding());
+                        if (scenario == null) {
+                            continue;
+                        }
+                        if (response.statusCode() >= 400) {
+                            scenario.recordError("HTTP " + response.statusCode());
+                        } else {
+                            scenario.recordSuccess(System.nanoTime() - start);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (scenario != null) {
+                            scenario.recordError(e.getClass().getSimpleName());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(seconds + 120L, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private HttpRequest build(String scenario, ThreadLocalRandom random) {
+        int year = pick(workload.years(), random);
+        String team = workload.teamIds().isEmpty() ? null : String.valueOf(pick(workload.teamIds(), random));
+        return switch (scenario) {
+            case "login" -> loginRequest(workload.baseUrl(), pick(workload.loginUsers(), random),
+                workload.loginPassword(), "standard", scenario);
+            case "ldap-login" -> loginRequest(workload.baseUrl(), pick(workload.ldapUsers(), random),
+                workload.ldapPassword(), "ldap", scenario);
+            case "tasks" -> get(scenario, team == null ? "/api/tasks"
+                : "/api/tasks?teamId=" + team + "&year=" + year + "&month=" + (1 + random.nextInt(12)));
+            case "calendar" -> get(scenario, "/api/calendar/" + year + (team == null ? "" : "?teamId=" + team));
+            case "dashboard" -> get(scenario, "/api/teams/" + team
+                + "/dashboard/details?startDate=" + year + "-01-01&endDate=" + year + "-12-31");
+            case "status" -> authorized(scenario, "/api/tasks/" + pick(workload.taskIds(), random) + "/status")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\""
+                    + STATUS_CYCLE[random.nextInt(STATUS_CYCLE.length)] + "\",\"changeReason\":\"load test\"}"))
+                .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    private static HttpRequest loginRequest(String baseUrl, String username, String password, String loginType,
+                                            String scenario) {
+        String body = "{\"username\":\"" + json(username) + "\",\"password\":\"" + json(password)
+            + "\",\"loginType\":\"" + loginType + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .header(SCENARIO_HEADER, scenario)
+            .timeout(Duration.ofSeconds(60))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest get(String scenario, String path) {
+        return authorized(scenario, path).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String scenario, String path) {
+        return HttpRequest.newBuilder(URI.create(workload.baseUrl() + path))
+            .header("Authorization", "Bearer " + workload.adminToken())
+            .header(SCENARIO_HEADER, scenario)
+            .timeout(Duration.ofSeconds(60));
+    }
+
+    private static List<String> report(int clients, Map<String, ScenarioStats> stats, Map<String, Long> statements,
+                                       double elapsed) {
+        System.out.printf("%-11s %9s %9s %8s %8s %8s %8s %7s %11s %9s%n",
+            "scenario", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "statements", "stmt/req");
+        List<String> lines = new ArrayList<>();
+        for (ScenarioStats scenario : stats.values()) {
+            long executed = scenario.getCount() + scenario.getErrors();
+            // -1 when the statements were not counted (application in another JVM)
+            long statementCount = statements == null ? -1 : statements.getOrDefault(scenario.getName(), 0L);
+            double perRequest = executed == 0 || statementCount < 0 ? 0.0 : (double) statementCount / executed;
+            System.out.printf(Locale.ROOT, "%-11s %9d %9.1f %8.1f %8.1f %8.1f %8.1f %7d %11s %9s%n",
+                scenario.getName(), scenario.getCount(), scenario.getCount() / elapsed,
+                scenario.percentileMs(50), scenario.percentileMs(95), scenario.percentileMs(99), scenario.percentileMs(100),
+                scenario.getErrors(), statementCount < 0 ? "-" : String.valueOf(statementCount),
+                statementCount < 0 ? "-" : String.format(Locale.ROOT, "%.1f", perRequest));
+            lines.add(String.format(Locale.ROOT, "%d\t%s\t%d\t%.1f\t%.1f\t%.1f\t%.1f\t%.1f\t%d\t%d\t%.1f",
+                clients, scenario.getName(), scenario.getCount(), scenario.getCount() / elapsed,
+                scenario.percentileMs(50), scenario.percentileMs(95), scenario.percentileMs(99), scenario.percentileMs(100),
+                scenario.getErrors(), statementCount, perRequest));
+            scenario.getErrorsByCause().forEach((cause, count) ->
+                System.out.printf("%13s %d x %s%n", "", count, cause));
+        }
+        long background = statements != null ? statements.getOrDefault("background", 0L) : 0L;
+        if (background > 0) {
+            System.out.printf("%-11s %88d%n", "background", background);
+        }
+        return lines;
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Latencies and failures of one scenario during the measured phase. Latencies are kept raw
+     * (8 bytes per request) so percentiles are exact; a few million requests fit comfortably.
+     */
+    static class ScenarioStats {
+
+        private final String name;
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+        private final Map<String, Long> errorsByCause = new TreeMap<>();
+
+        ScenarioStats(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        synchronized void recordSuccess(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized void recordError(String cause) {
+            errors++;
+            errorsByCause.merge(cause, 1L, Long::sum);
+        }
+
+        synchronized int getCount() {
+            return count;
+        }
+
+        synchronized long getErrors() {
+            return errors;
+        }
+
+        synchronized Map<String, Long> getErrorsByCause() {
+            return new TreeMap<>(errorsByCause);
+        }
+
+        /** Percentile in milliseconds, nearest-rank. */
+        synchronized double percentileMs(double percentile) {
+            if (count == 0) {
+                return 0.0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))] / 1e6;
+        }
+    }
+}
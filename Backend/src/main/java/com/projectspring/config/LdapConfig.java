@@ -1,75 +1,87 @@
 package com.projectspring.config;
 
-import com.projectspring.model.LdapSettings;
 import com.projectspring.repository.LdapSettingsRepository;
 import com.projectspring.service.EncryptionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.ldap.core.LdapTemplate;
-import org.springframework.ldap.core.support.LdapContextSource;
-
-import java.util.Optional;
+import org.springframework.ldap.pool2.factory.PoolConfig;
 
 @Configuration
 public class LdapConfig {
-    
+
     @Autowired(required = false)
     private LdapSettingsRepository ldapSettingsRepository;
-    
+
     @Autowired(required = false)
     private EncryptionService encryptionService;
-    
+
+    @Value("${app.ldap.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${app.ldap.pool.min-idle:1}")
+    private int poolMinIdle;
+
+    @Value("${app.ldap.pool.max-idle:8}")
+    private int poolMaxIdle;
+
+    @Value("${app.ldap.pool.max-total:16}")
+    private int poolMaxTotal;
+
+    @Value("${app.ldap.pool.max-wait-ms:5000}")
+    private long poolMaxWaitMs;
+
+    @Value("${app.ldap.pool.test-on-borrow:true}")
+    private boolean poolTestOnBorrow;
+
+    @Value("${app.ldap.pool.test-while-idle:true}")
+    private boolean poolTestWhileIdle;
+
+    @Value("${app.ldap.pool.eviction-interval-ms:60000}")
+    private long poolEvictionIntervalMs;
+
+    @Value("${app.ldap.pool.min-evictable-idle-ms:300000}")
+    private long poolMinEvictableIdleMs;
+
+    @Value("${app.ldap.pool.drain-timeout-ms:30000}")
+    private long poolDrainTimeoutMs;
+
     @Bean
     @Primary
-    public LdapContextSource contextSource() {
-        LdapContextSource contextSource = new LdapContextSource();
-        
+    public RefreshableLdapContextSource contextSource() {
+        RefreshableLdapContextSource contextSource =
+            new RefreshableLdapContextSource(poolConfig(), poolEnabled, poolDrainTimeoutMs, encryptionService);
+
         // Only read from database - no fallback to application.yml or docker-compose
-        if (ldapSettingsRepository != null) {
-            Optional<LdapSettings> settingsOpt = ldapSettingsRepository.findByIsEnabledTrue();
-            if (settingsOpt.isPresent()) {
-                LdapSettings settings = settingsOpt.get();
-                contextSource.setUrl(settings.getUrls());
-                // Don't set Base DN - it interferes with search operations
-                // Base DN will be used in search operations explicitly when needed
-                
-                if (settings.getUsername() != null && !settings.getUsername().isEmpty()) {
-                    contextSource.setUserDn(settings.getUsername());
-                }
-                
-                if (settings.getPasswordEncrypted() != null && !settings.getPasswordEncrypted().isEmpty() && encryptionService != null) {
-                    try {
-                        String decryptedPassword = encryptionService.decrypt(settings.getPasswordEncrypted());
-                        contextSource.setPassword(decryptedPassword);
-                        System.out.println("LDAP Config - Password decrypted successfully, length: " + (decryptedPassword != null ? decryptedPassword.length() : 0));
-                    } catch (Exception e) {
-                        // If decryption fails, use empty password
-                        System.err.println("Failed to decrypt LDAP password: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                } else {
-                    System.err.println("LDAP Config - No password found or encryption service not available");
-                }
-                
-                contextSource.afterPropertiesSet();
-                return contextSource;
-            }
-        }
-        
-        // If no settings in database or LDAP disabled, return empty context source
-        // LDAP will be silently disabled - application continues to work
-        contextSource.setUrl("ldap://localhost:389");
-        contextSource.setBase("dc=example,dc=com");
-        contextSource.afterPropertiesSet();
+        // If no settings in database or LDAP disabled, a placeholder source is installed
+        // and LDAP is silently disabled - application continues to work
+        contextSource.refresh(ldapSettingsRepository != null
+            ? ldapSettingsRepository.findByIsEnabledTrue().orElse(null)
+            : null);
         return contextSource;
     }
-    
+
     @Bean
     @Primary
     public LdapTemplate ldapTemplate() {
         return new LdapTemplate(contextSource());
     }
-}
 
+    private PoolConfig poolConfig() {
+        PoolConfig config = new PoolConfig();
+        config.setMinIdlePerKey(poolMinIdle);
+        config.setMaxIdlePerKey(poolMaxIdle);
+        config.setMaxTotalPerKey(poolMaxTotal);
+        config.setMaxTotal(poolMaxTotal);
+        config.setMaxWaitMillis(poolMaxWaitMs);
+        config.setBlockWhenExhausted(true);
+        config.setTestOnBorrow(poolTestOnBorrow);
+        config.setTestWhileIdle(poolTestWhileIdle);
+        config.setTimeBetweenEvictionRunsMillis(poolEvictionIntervalMs);
+        config.setMinEvictableIdleTimeMillis(poolMinEvictableIdleMs);
+        return config;
+    }
+}
@@ -0,0 +1,19 @@
+package com.projectspring.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements one request to the annotated controller method (or every
+ * method of the annotated controller) may run, overriding app.query-budget.default-max-statements.
+ * Statements of the security filter chain (JWT user lookup) count towards the budget.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+    int value();
+}
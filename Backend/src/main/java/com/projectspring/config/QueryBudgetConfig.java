@@ -0,0 +1,75 @@
+package com.projectspring.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement budget (N+1 detector): the DataSource is wrapped so every executed
+ * statement is reported to {@link QueryBudgetTracker}, {@link QueryBudgetFilter} wraps the whole
+ * request including the security chain, and {@link QueryBudgetInterceptor} applies the
+ * {@link QueryBudget} declared on the handler.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    @Value("${app.query-budget.default-max-statements:50}")
+    private int defaultBudget;
+
+    @Value("${app.query-budget.top-shapes:3}")
+    private int topShapes;
+
+    @Value("${app.query-budget.warn-interval-seconds:60}")
+    private long warnIntervalSeconds;
+
+    @Value("${app.query-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    @Bean
+    public static BeanPostProcessor queryBudgetDataSourcePostProcessor() {
+        return new CountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+            new QueryBudgetFilter(defaultBudget, topShapes, warnIntervalSeconds * 1000, failOnExceed, meterRegistry));
+        // Before Spring Security so the JWT user lookup is part of the request's count
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+
+    // Ordered, so it wraps the pool before the (unordered) BoundedDataSource post-processor
+    // and that one keeps seeing the outermost DataSource
+    private static class CountingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return new StatementCountingDataSource(dataSource, QueryBudgetTracker::record);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
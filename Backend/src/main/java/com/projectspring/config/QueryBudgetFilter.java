@@ -0,0 +1,73 @@
+package com.projectspring.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the SQL statements of each request (see {@link QueryBudgetTracker}) and reports the
+ * requests that exceed their budget with the endpoint and the most repeated statement shapes.
+ * Warnings are throttled per endpoint; the per-route statement count is also published as the
+ * app.http.statements distribution summary. With fail-on-exceed the tracker rejects the first
+ * statement over budget instead, while the handler is still running and nothing is written yet.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final int defaultBudget;
+    private final int topShapes;
+    private final long warnIntervalMs;
+    private final boolean failOnExceed;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> lastWarned = new ConcurrentHashMap<>();
+
+    public QueryBudgetFilter(int defaultBudget, int topShapes, long warnIntervalMs, boolean failOnExceed,
+                             MeterRegistry meterRegistry) {
+        this.defaultBudget = defaultBudget;
+        this.topShapes = topShapes;
+        this.warnIntervalMs = warnIntervalMs;
+        this.failOnExceed = failOnExceed;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryBudgetTracker.begin(defaultBudget, failOnExceed, topShapes);
+        QueryBudgetTracker.RequestStatements statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = QueryBudgetTracker.end();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched URIs (404s, scanners) share one tag so they cannot blow up the metric cardinality
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        meterRegistry.summary("app.http.statements", "uri", route).record(statements.getCount());
+
+        // The response is already written here, so an overrun can only be reported
+        if (statements.getCount() <= statements.getBudget()) {
+            return;
+        }
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        long now = System.currentTimeMillis();
+        Long previous = lastWarned.get(endpoint);
+        if (previous == null || now - previous >= warnIntervalMs) {
+            lastWarned.put(endpoint, now);
+            log.warn("Query budget exceeded: {} ran {} SQL statements (budget {}); most repeated: {}",
+                endpoint, statements.getCount(), statements.getBudget(), statements.describeTopShapes());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.projectspring.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the {@link QueryBudget} of the handler method, or else of its controller, to the
+ * request tracked by {@link QueryBudgetFilter}. Handlers without one keep the default budget.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudgetTracker.RequestStatements statements = QueryBudgetTracker.current();
+        if (statements != null && handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+            }
+            if (budget != null) {
+                statements.setBudget(budget.value());
+            }
+        }
+        return true;
+    }
+}
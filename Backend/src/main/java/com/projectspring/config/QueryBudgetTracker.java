@@ -0,0 +1,113 @@
+package com.projectspring.config;
+
+import com.projectspring.exception.QueryBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements executed on the current thread while a request is tracked by
+ * {@link QueryBudgetFilter}. Every JDBC execution is reported by {@link StatementCountingDataSource},
+ * so Hibernate, JdbcTemplate and plain JDBC statements all count. Statements are kept per SQL
+ * string: the same query renders to the same string, so repeats of one string are the N+1 candidates.
+ */
+public final class QueryBudgetTracker {
+
+    // Distinct SQL strings remembered per request; the total count is always exact
+    private static final int MAX_DISTINCT_STATEMENTS = 500;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final int MAX_SHAPE_LENGTH = 200;
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private QueryBudgetTracker() {
+    }
+
+    /**
+     * Records a statement of the current request. When the request is enforced and this
+     * statement would exceed its budget, throws instead, so the statement is not run and the
+     * request fails before any of its response is written.
+     */
+    public static void record(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+    }
+
+    static void begin(int budget, boolean enforced, int topShapes) {
+        CURRENT.set(new RequestStatements(budget, enforced, topShapes));
+    }
+
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    static RequestStatements end() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        shape = IN_LIST.matcher(shape).replaceAll("(?, ...)");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    static class RequestStatements {
+        private int count;
+        private int budget;
+        private final boolean enforced;
+        private final int topShapes;
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        RequestStatements(int budget, boolean enforced, int topShapes) {
+            this.budget = budget;
+            this.enforced = enforced;
+            this.topShapes = topShapes;
+        }
+
+        private void record(String sql) {
+            if (enforced && count >= budget) {
+                throw new QueryBudgetExceededException("Request exceeded its budget of " + budget
+                    + " SQL statements at [" + shape(sql) + "]; most repeated: " + describeTopShapes());
+            }
+            count++;
+            if (bySql.containsKey(sql) || bySql.size() < MAX_DISTINCT_STATEMENTS) {
+                bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        int getBudget() {
+            return budget;
+        }
+
+        void setBudget(int budget) {
+            this.budget = budget;
+        }
+
+        /** The most repeated statement shapes, e.g. {@code 100x [select ... where u1_0.id=?]}. */
+        String describeTopShapes() {
+            Map<String, Integer> byShape = new HashMap<>();
+            bySql.forEach((sql, repeats) -> byShape.merge(shape(sql), repeats, Integer::sum));
+            return byShape.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(topShapes)
+                .map(entry -> entry.getValue() + "x [" + entry.getKey() + "]")
+                .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.projectspring.config;
+
+import com.projectspring.model.LdapSettings;
+import com.projectspring.service.EncryptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.ldap.NamingException;
+import org.springframework.ldap.core.ContextSource;
+import org.springframework.ldap.core.support.LdapContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PooledContextSource;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
+
+import javax.naming.directory.DirContext;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ContextSource used by LdapTemplate. The underlying connection pool is built from the
+ * ldap_settings row and swapped atomically when the settings change; the previous pool
+ * keeps serving borrowed connections until they are returned (or the drain timeout passes)
+ * and is closed afterwards.
+ *
+ * Only the service-account contexts (getReadOnlyContext, getReadWriteContext) are pooled.
+ * User binds (getContext(principal, credentials)) go to the unpooled LdapContextSource behind
+ * the pool: PooledContextSource does not support them, and a connection bound as a user must
+ * not be handed to the next borrower anyway.
+ */
+public class RefreshableLdapContextSource implements ContextSource, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshableLdapContextSource.class);
+
+    private static final String PLACEHOLDER_URL = "ldap://localhost:389";
+    private static final String PLACEHOLDER_BASE = "dc=example,dc=com";
+    private static final long DRAIN_CHECK_INTERVAL_MS = 1000;
+
+    private final PoolConfig poolConfig;
+    private final boolean poolEnabled;
+    private final long drainTimeoutMs;
+    private final EncryptionService encryptionService;
+
+    private final AtomicReference<Sources> current = new AtomicReference<>();
+
+    private final ScheduledExecutorService drainExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ldap-pool-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RefreshableLdapContextSource(PoolConfig poolConfig, boolean poolEnabled, long drainTimeoutMs,
+                                        EncryptionService encryptionService) {
+        this.poolConfig = poolConfig;
+        this.poolEnabled = poolEnabled;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Builds a new context source from the given settings and makes it current.
+     * Passing null (or disabled settings) installs the unconnected placeholder source.
+     */
+    public void refresh(LdapSettings settings) {
+        Sources next = buildSources(settings);
+        Sources previous = current.getAndSet(next);
+        logger.info("LDAP context source refreshed (url={}, pooled={})",
+            settings != null && Boolean.TRUE.equals(settings.getIsEnabled()) ? settings.getUrls() : PLACEHOLDER_URL,
+            next.shared() instanceof PooledContextSource);
+        if (previous != null) {
+            retire(previous.shared());
+        }
+    }
+
+    @Override
+    public DirContext getReadOnlyContext() throws NamingException {
+        return currentSources().shared().getReadOnlyContext();
+    }
+
+    @Override
+    public DirContext getReadWriteContext() throws NamingException {
+        return currentSources().shared().getReadWriteContext();
+    }
+
+    @Override
+    public DirContext getContext(String principal, String credentials) throws NamingException {
+        return currentSources().direct().getContext(principal, credentials);
+    }
+
+    public boolean isPooled() {
+        Sources sources = current.get();
+        return sources != null && sources.shared() instanceof PooledContextSource;
+    }
+
+    public int getNumActive() {
+        Sources sources = current.get();
+        return sources != null && sources.shared() instanceof PooledContextSource pooled ? pooled.getNumActive() : 0;
+    }
+
+    public int getNumIdle() {
+        Sources sources = current.get();
+        return sources != null && sources.shared() instanceof PooledContextSource pooled ? pooled.getNumIdle() : 0;
+    }
+
+    @Override
+    public void destroy() {
+        drainExecutor.shutdownNow();
+        Sources sources = current.getAndSet(null);
+        if (sources != null) {
+            close(sources.shared());
+        }
+    }
+
+    private Sources currentSources() {
+        Sources sources = current.get();
+        if (sources == null) {
+            throw new IllegalStateException("LDAP context source is not initialized");
+        }
+        return sources;
+    }
+
+    private Sources buildSources(LdapSettings settings) {
+        LdapContextSource contextSource = new LdapContextSource();
+
+        if (settings == null || !Boolean.TRUE.equals(settings.getIsEnabled())) {
+            // LDAP disabled - application continues to work, nothing connects to this source
+            contextSource.setUrl(PLACEHOLDER_URL);
+            contextSource.setBase(PLACEHOLDER_BASE);
+            contextSource.afterPropertiesSet();
+            return new Sources(contextSource, contextSource);
+        }
+
+        contextSource.setUrl(settings.getUrls());
+        // Don't set Base DN - it interferes with search operations
+        // Base DN will be used in search operations explicitly when needed
+
+        if (settings.getUsername() != null && !settings.getUsername().isEmpty()) {
+            contextSource.setUserDn(settings.getUsername());
+        }
+
+        if (settings.getPasswordEncrypted() != null && !settings.getPasswordEncrypted().isEmpty() && encryptionService != null) {
+            try {
+                contextSource.setPassword(encryptionService.decrypt(settings.getPasswordEncrypted()));
+            } catch (Exception e) {
+                // If decryption fails, use empty password
+                logger.error("Failed to decrypt LDAP password: {}", e.getMessage());
+            }
+        } else {
+            logger.warn("LDAP Config - No password found or encryption service not available");
+        }
+
+        // Pooling is done by PooledContextSource, not by the JNDI provider
+        contextSource.setPooled(false);
+        contextSource.afterPropertiesSet();
+
+        if (!poolEnabled) {
+            return new Sources(contextSource, contextSource);
+        }
+
+        PooledContextSource pooledContextSource = new PooledContextSource(poolConfig);
+        pooledContextSource.setContextSource(contextSource);
+        pooledContextSource.setDirContextValidator(new DefaultDirContextValidator());
+        return new Sources(pooledContextSource, contextSource);
+    }
+
+    /**
+     * Closes a replaced pool once all borrowed connections have been returned,
+     * so logins that started on the old settings can finish.
+     */
+    private void retire(ContextSource previous) {
+        if (!(previous instanceof PooledContextSource pooled)) {
+            return;
+        }
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        AtomicReference<ScheduledFuture<?>> handle = new AtomicReference<>();
+        handle.set(drainExecutor.scheduleWithFixedDelay(() -> {
+            int active = pooled.getNumActive();
+            boolean timedOut = System.currentTimeMillis() >= deadline;
+            if (active == 0 || timedOut) {
+                if (timedOut && active > 0) {
+                    logger.warn("LDAP pool drain timed out with {} active connections, closing anyway", active);
+                }
+                close(pooled);
+                ScheduledFuture<?> future = handle.get();
+                if (future != null) {
+                    future.cancel(false);
+                }
+            }
+        }, DRAIN_CHECK_INTERVAL_MS, DRAIN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS));
+    }
+
+    private void close(ContextSource source) {
+        if (source instanceof PooledContextSource pooled) {
+            try {
+                pooled.destroy();
+                logger.info("Previous LDAP connection pool closed");
+            } catch (Exception e) {
+                logger.warn("Failed to close LDAP connection pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The source for service-account contexts (the pool, when enabled) and the unpooled source
+     * it draws from, which also serves user binds. Swapped together on refresh.
+     */
+    private record Sources(ContextSource shared, LdapContextSource direct) {
+    }
+}
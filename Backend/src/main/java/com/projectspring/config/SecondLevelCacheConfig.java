@@ -0,0 +1,101 @@
+package com.projectspring.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for reference data (teams, roles, projects) and users, backed
+ * by Caffeine through JCache. Regions are created here so every one has a size and TTL bound;
+ * Hibernate keeps them consistent for JPA writes, JDBC bulk writes evict through EntityCacheService.
+ * Replicas do not share the cache; they evict each other's entries through CacheInvalidationBus,
+ * and the TTL bounds staleness whenever a notification is lost.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final List<String> REFERENCE_REGIONS = List.of(
+        "com.projectspring.model.Team",
+        "com.projectspring.model.RoleEntity",
+        "com.projectspring.model.Project",
+        "com.projectspring.model.Project.teams");
+
+    static final List<String> USER_REGIONS = List.of(
+        "com.projectspring.model.User",
+        "com.projectspring.model.User.roles",
+        "com.projectspring.model.User.teams");
+
+    static final String QUERY_REGION = "default-query-results-region";
+
+    // Last-write time per table; must never expire or be evicted before the query results it guards
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.cache.reference.max-entries:10000}")
+    private long referenceMaxEntries;
+
+    @Value("${app.cache.reference.ttl-seconds:600}")
+    private long referenceTtlSeconds;
+
+    @Value("${app.cache.users.max-entries:20000}")
+    private long userMaxEntries;
+
+    @Value("${app.cache.users.ttl-seconds:300}")
+    private long userTtlSeconds;
+
+    @Value("${app.cache.queries.max-entries:5000}")
+    private long queryMaxEntries;
+
+    @Value("${app.cache.queries.ttl-seconds:300}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        REFERENCE_REGIONS.forEach(region -> create(cacheManager, region, referenceMaxEntries, referenceTtlSeconds));
+        USER_REGIONS.forEach(region -> create(cacheManager, region, userMaxEntries, userTtlSeconds));
+        create(cacheManager, QUERY_REGION, queryMaxEntries, queryTtlSeconds);
+        create(cacheManager, TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // A region missing above is a mapping mistake; fail at startup instead of caching unbounded
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+            JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+
+    private static void create(CacheManager cacheManager, String region, long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries, so the defensive copy of store-by-value is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,99 @@
+package com.projectspring.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * DataSource that reports every SQL statement executed through its connections to a listener,
+ * whoever issues it: Hibernate, JdbcTemplate or plain JDBC. The listener runs before the
+ * statement is sent, so it can stop it by throwing. A batch is reported once per executeBatch.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Consumer<String> listener;
+
+    public StatementCountingDataSource(DataSource target, Consumer<String> listener) {
+        super(target);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (isIdentityMethod(method)) {
+                    return identity(proxy, method, args, connection);
+                }
+                Object result = invoke(connection, method, args);
+                return switch (method.getName()) {
+                    case "createStatement" -> counting((Statement) result, Statement.class, null);
+                    case "prepareStatement" -> counting((Statement) result, PreparedStatement.class, (String) args[0]);
+                    case "prepareCall" -> counting((Statement) result, CallableStatement.class, (String) args[0]);
+                    default -> result;
+                };
+            });
+    }
+
+    private Statement counting(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[]{type},
+            (proxy, method, args) -> {
+                if (isIdentityMethod(method)) {
+                    return identity(proxy, method, args, statement);
+                }
+                if (EXECUTE_METHODS.contains(method.getName())) {
+                    // Statement.execute*(sql) carries its SQL; prepared statements were given it up front
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    listener.accept(sql != null ? sql : "<batch>");
+                }
+                return invoke(statement, method, args);
+            });
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    // equals/hashCode of the proxy itself, so a wrapped connection still equals itself
+    private static Object identity(Object proxy, Method method, Object[] args, Object target) throws Throwable {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> invoke(target, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
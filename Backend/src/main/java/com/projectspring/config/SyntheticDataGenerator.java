@@ -0,0 +1,479 @@
+package com.projectspring.config;
+
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.ProjectStatus;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.model.enums.TaskType;
+import com.projectspring.service.EntityCacheService;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates production-sized synthetic data (teams, users, projects, tasks, assignees, subtasks,
+ * status history, task logs) for load and performance testing, using PostgreSQL COPY.
+ *
+ * Every task is derived from (seed, task id) alone, so each table is streamed in its own pass
+ * without keeping tasks in memory, and the same settings always produce the same data.
+ * Ids of teams, users, projects and tasks are assigned here and the sequences are moved past
+ * them afterwards, so run it against a database nothing else is writing to.
+ */
+@Component
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] COLORS = {"#89b4fa", "#a6e3a1", "#f9e2af", "#cba6f7", "#f38ba8", "#fab387", "#94e2d5"};
+    private static final String[] WORDS = {"rapor", "ekran", "servis", "entegrasyon", "yedekleme", "sunucu", "ağ",
+        "veritabanı", "güncelleme", "izleme", "kullanıcı", "yetki", "performans", "test", "dokümantasyon"};
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final String[] LOG_ACTIONS = {"UPDATED", "STATUS_CHANGED"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${app.seed.synthetic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.seed.synthetic.teams:20}")
+    private int teams;
+
+    @Value("${app.seed.synthetic.users-per-team:25}")
+    private int usersPerTeam;
+
+    @Value("${app.seed.synthetic.projects:40}")
+    private int projects;
+
+    @Value("${app.seed.synthetic.tasks-per-team:5000}")
+    private int tasksPerTeam;
+
+    @Value("${app.seed.synthetic.subtasks-per-task:2}")
+    private int subtasksPerTask;
+
+    @Value("${app.seed.synthetic.history-per-task:3}")
+    private int historyPerTask;
+
+    @Value("${app.seed.synthetic.logs-per-task:5}")
+    private int logsPerTask;
+
+    @Value("${app.seed.synthetic.start-date:2023-01-01}")
+    private String startDate;
+
+    @Value("${app.seed.synthetic.days:1095}")
+    private int days;
+
+    @Value("${app.seed.synthetic.skew:1.0}")
+    private double skew;
+
+    @Value("${app.seed.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${app.seed.synthetic.password:synthetic}")
+    private String password;
+
+    @Value("${app.seed.synthetic.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    // Filled by generate(); tasks of team t are taskBase + taskOffset[t] + 1 .. + taskCount[t]
+    private long teamBase;
+    private long userBase;
+    private long projectBase;
+    private long taskBase;
+    private long[] taskOffset;
+    private int[] taskCount;
+    private List<List<Long>> teamProjects;
+    private LocalDate firstDay;
+    private LocalDate today;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        if (teams < 1 || usersPerTeam < 1 || days < 1) {
+            throw new IllegalArgumentException("app.seed.synthetic: teams, users-per-team and days must be at least 1");
+        }
+
+        long started = System.currentTimeMillis();
+        logger.info("Synthetic data - generating {} teams x {} users, {} projects, {} tasks per team (skew {})",
+            teams, usersPerTeam, projects, tasksPerTeam, skew);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            generate(connection, connection.unwrap(PGConnection.class).getCopyAPI());
+        }
+        // COPY bypasses Hibernate; drop anything cached while the runners started
+        entityCacheService.evictAll();
+
+        logger.info("Synthetic data - done in {} s", (System.currentTimeMillis() - started) / 1000);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generate(Connection connection, CopyManager copyManager) throws SQLException {
+        firstDay = LocalDate.parse(startDate);
+        today = LocalDate.now();
+        teamBase = maxId(connection, "teams");
+        userBase = maxId(connection, "users");
+        projectBase = maxId(connection, "projects");
+        taskBase = maxId(connection, "tasks");
+        planTasks();
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String passwordHash = passwordEncoder.encode(password);
+
+        copy(copyManager, "teams (id, name, description, is_active, color, icon, created_at, updated_at)", out -> {
+            for (int t = 0; t < teams; t++) {
+                long id = teamId(t);
+                out.row(id, "Sentetik Birim " + id, "Synthetic load-test data", true, COLORS[t % COLORS.length], "📦", now, now);
+            }
+        });
+
+        copy(copyManager, "users (id, username, email, full_name, password, is_active, created_at, updated_at)", out -> {
+            for (int t = 0; t < teams; t++) {
+                for (int m = 0; m < usersPerTeam; m++) {
+                    long id = userId(t, m);
+                    out.row(id, "syn" + id, "syn" + id + "@synthetic.local", "Sentetik Kullanıcı " + id, passwordHash, true, now, now);
+                }
+            }
+        });
+
+        copy(copyManager, "user_teams (user_id, team_id)", out -> {
+            for (int t = 0; t < teams; t++) {
+                for (int m = 0; m < usersPerTeam; m++) {
+                    out.row(userId(t, m), teamId(t));
+                }
+            }
+        });
+
+        execute(connection,
+            "INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'YAZILIMCI' " +
+            "WHERE u.id > " + userBase);
+        // First member of every team leads it
+        execute(connection, "UPDATE teams SET leader_id = " + (userBase + 1) + " + (id - " + (teamBase + 1) + ") * " + usersPerTeam +
+            " WHERE id > " + teamBase);
+
+        copy(copyManager, "projects (id, name, description, start_date, end_date, status, created_by, created_at, updated_at)", out -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int p = 0; p < projects; p++) {
+                long id = projectBase + 1 + p;
+                LocalDate start = firstDay.plusDays(random.nextInt(days));
+                LocalDate end = start.plusDays(30 + random.nextInt(335));
+                ProjectStatus status = end.isBefore(today) ? ProjectStatus.COMPLETED : ProjectStatus.ACTIVE;
+                out.row(id, "Sentetik Proje " + id, null, start, end, status, userId(random.nextInt(teams), 0), now, now);
+            }
+        });
+
+        copy(copyManager, "project_teams (project_id, team_id)", out -> {
+            for (int t = 0; t < teams; t++) {
+                for (Long projectId : teamProjects.get(t)) {
+                    out.row(projectId, teamId(t));
+                }
+            }
+        });
+
+        copy(copyManager, "tasks (id, title, content, start_date, end_date, status, task_type, priority, team_id, project_id, " +
+                "created_by, postponed_to_date, is_postponed, created_at, updated_at)", out ->
+            forEachTask(task -> out.row(task.id, task.title, task.content, task.start, task.end, task.status, task.type,
+                task.priority, teamId(task.team), task.projectId, task.createdBy,
+                task.status == TaskStatus.POSTPONED ? task.end.plusDays(7) : null,
+                task.status == TaskStatus.POSTPONED, task.createdAt, task.createdAt)));
+
+        copy(copyManager, "task_assignees (task_id, user_id)", out ->
+            forEachTask(task -> {
+                for (long assignee : task.assignees) {
+                    out.row(task.id, assignee);
+                }
+            }));
+
+        copy(copyManager, "subtasks (task_id, title, content, start_date, end_date, assignee_id, is_completed, created_at, updated_at)", out ->
+            forEachTask(task -> {
+                for (int s = 0; s < task.subtasks; s++) {
+                    LocalDate start = task.start.plusDays(s % 3);
+                    out.row(task.id, "Alt iş " + (s + 1), null, start, start.plusDays(1),
+                        task.assignees[s % task.assignees.length],
+                        task.status == TaskStatus.COMPLETED || s < task.subtasks / 2, task.createdAt, task.createdAt);
+                }
+            }));
+
+        copy(copyManager, "task_status_history (task_id, old_status, new_status, changed_by, change_reason, created_at)", out ->
+            forEachTask(task -> {
+                TaskStatus previous = TaskStatus.OPEN;
+                for (int h = 0; h < historyPerTask; h++) {
+                    TaskStatus next = h == historyPerTask - 1 ? task.status : intermediateStatus(h);
+                    out.row(task.id, previous, next, task.assignees[h % task.assignees.length], null,
+                        task.createdAt.plusHours(4L * (h + 1)));
+                    previous = next;
+                }
+            }));
+
+        copy(copyManager, "task_logs (task_id, task_title, action, old_value, new_value, changed_by, change_reason, created_at)", out ->
+            forEachTask(task -> {
+                for (int l = 0; l < task.logs; l++) {
+                    String action = l == 0 ? "CREATED" : LOG_ACTIONS[l % LOG_ACTIONS.length];
+                    String oldValue = l == 0 ? null : "{\"id\":" + task.id + ",\"status\":\"" + intermediateStatus(l - 1) + "\"}";
+                    String newValue = "{\"id\":" + task.id + ",\"status\":\"" + intermediateStatus(l) + "\",\"title\":\"" + task.title + "\"}";
+                    out.row(task.id, task.title, action, oldValue, newValue, task.createdBy, null, task.createdAt.plusHours(2L * l));
+                }
+            }));
+
+        for (String table : List.of("teams", "users", "projects", "tasks")) {
+            execute(connection, "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT MAX(id) FROM " + table + "))");
+        }
+        execute(connection, "ANALYZE");
+    }
+
+    /**
+     * Spreads teams * tasksPerTeam tasks over the teams with Zipf-like weights (skew 0 = even)
+     * and links every team to the projects it takes part in.
+     */
+    private void planTasks() {
+        double[] weights = new double[teams];
+        double sum = 0;
+        for (int t = 0; t < teams; t++) {
+            weights[t] = 1.0 / Math.pow(t + 1, skew);
+            sum += weights[t];
+        }
+        long total = (long) teams * tasksPerTeam;
+        taskOffset = new long[teams];
+        taskCount = new int[teams];
+        long offset = 0;
+        for (int t = 0; t < teams; t++) {
+            taskOffset[t] = offset;
+            taskCount[t] = (int) Math.round(total * weights[t] / sum);
+            offset += taskCount[t];
+        }
+
+        teamProjects = new ArrayList<>();
+        for (int t = 0; t < teams; t++) {
+            teamProjects.add(new ArrayList<>());
+        }
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        for (int p = 0; p < projects; p++) {
+            int teamCount = 1 + random.nextInt(Math.min(3, teams));
+            int first = random.nextInt(teams);
+            for (int i = 0; i < teamCount; i++) {
+                teamProjects.get((first + i) % teams).add(projectBase + 1 + p);
+            }
+        }
+    }
+
+    private void forEachTask(TaskConsumer consumer) throws SQLException {
+        for (int t = 0; t < teams; t++) {
+            for (int i = 0; i < taskCount[t]; i++) {
+                consumer.accept(task(t, taskBase + taskOffset[t] + i + 1));
+            }
+        }
+    }
+
+    private SyntheticTask task(int team, long id) {
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + id);
+        SyntheticTask task = new SyntheticTask();
+        task.id = id;
+        task.team = team;
+        task.title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " #" + id;
+        task.content = random.nextInt(4) == 0 ? null : "Sentetik iş açıklaması: " + WORDS[random.nextInt(WORDS.length)]
+            + " ve " + WORDS[random.nextInt(WORDS.length)] + " çalışması.";
+        task.start = firstDay.plusDays(random.nextInt(days));
+        task.end = task.start.plusDays(1 + random.nextInt(21));
+        task.status = status(random, task.end.isBefore(today));
+        task.type = TASK_TYPES[random.nextInt(TASK_TYPES.length)];
+        int priority = random.nextInt(10);
+        task.priority = priority < 7 ? Priority.NORMAL : priority < 9 ? Priority.HIGH : Priority.URGENT;
+        List<Long> projectIds = teamProjects.get(team);
+        task.projectId = !projectIds.isEmpty() && random.nextInt(10) < 7 ? projectIds.get(random.nextInt(projectIds.size())) : null;
+        task.createdBy = userId(team, member(random));
+        task.assignees = new long[1 + random.nextInt(3)];
+        for (int a = 0; a < task.assignees.length; a++) {
+            task.assignees[a] = userId(team, member(random));
+        }
+        // Duplicate assignees would violate the task_assignees primary key
+        task.assignees = Arrays.stream(task.assignees).distinct().toArray();
+        task.subtasks = subtasksPerTask > 0 ? random.nextInt(2 * subtasksPerTask + 1) : 0;
+        task.logs = logsPerTask > 0 ? 1 + random.nextInt(2 * logsPerTask - 1) : 0;
+        task.createdAt = task.start.minusDays(random.nextInt(7)).atTime(9 + random.nextInt(8), random.nextInt(60));
+        return task;
+    }
+
+    /**
+     * Team member index biased towards the first members, so a few users carry most of the work.
+     */
+    private int member(SplittableRandom random) {
+        return Math.min(usersPerTeam - 1, (int) (usersPerTeam * Math.pow(random.nextDouble(), 1 + skew)));
+    }
+
+    private TaskStatus status(SplittableRandom random, boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 70 ? TaskStatus.COMPLETED : roll < 80 ? TaskStatus.OVERDUE : roll < 85 ? TaskStatus.CANCELLED
+                : roll < 90 ? TaskStatus.POSTPONED : roll < 95 ? TaskStatus.TESTING : TaskStatus.IN_PROGRESS;
+        }
+        return roll < 40 ? TaskStatus.OPEN : roll < 75 ? TaskStatus.IN_PROGRESS : roll < 90 ? TaskStatus.TESTING
+            : roll < 95 ? TaskStatus.POSTPONED : TaskStatus.COMPLETED;
+    }
+
+    private TaskStatus intermediateStatus(int step) {
+        return step % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.TESTING;
+    }
+
+    private long teamId(int team) {
+        return teamBase + 1 + team;
+    }
+
+    private long userId(int team, int member) {
+        return userBase + 1 + (long) team * usersPerTeam + member;
+    }
+
+    private long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void copy(CopyManager copyManager, String target, CopyBody body) throws SQLException {
+        long started = System.currentTimeMillis();
+        CopyWriter writer = new CopyWriter(copyManager.copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)"));
+        try {
+            body.write(writer);
+            writer.finish();
+        } catch (SQLException | RuntimeException e) {
+            writer.cancel();
+            throw e;
+        }
+        long ms = Math.max(1, System.currentTimeMillis() - started);
+        logger.info("Synthetic data - {}: {} rows in {} ms ({} rows/s)",
+            target.substring(0, target.indexOf(' ')), writer.rows, ms, writer.rows * 1000 / ms);
+    }
+
+    @FunctionalInterface
+    private interface CopyBody {
+        void write(CopyWriter out) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TaskConsumer {
+        void accept(SyntheticTask task) throws SQLException;
+    }
+
+    private static class SyntheticTask {
+        long id;
+        int team;
+        String title;
+        String content;
+        LocalDate start;
+        LocalDate end;
+        TaskStatus status;
+        TaskType type;
+        Priority priority;
+        Long projectId;
+        long createdBy;
+        long[] assignees;
+        int subtasks;
+        int logs;
+        LocalDateTime createdAt;
+    }
+
+    /**
+     * Buffers CSV rows and streams them to an open COPY in 1 MB chunks.
+     */
+    private static class CopyWriter {
+
+        private static final int FLUSH_BYTES = 1 << 20;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+        private long rows;
+
+        CopyWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value == null) {
+                    // Unquoted empty field is NULL in CSV format
+                    continue;
+                }
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        void cancel() {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (SQLException e) {
+                logger.warn("Synthetic data - failed to cancel COPY: {}", e.getMessage());
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.length() == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
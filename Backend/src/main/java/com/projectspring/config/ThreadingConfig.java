@@ -0,0 +1,76 @@
+package com.projectspring.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Thread execution mode. With spring.threads.virtual.enabled=true (and a Java 21+ runtime)
+ * Spring Boot runs Tomcat requests and @Scheduled tasks on virtual threads. Because that
+ * removes the implicit limit of the Tomcat thread pool, database access is bounded here by
+ * a semaphore sized to the Hikari pool; LDAP logins are bounded in LdapAuthService.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        boolean limitsEnabled = environment.getProperty("app.concurrency.limits-enabled", Boolean.class, false);
+        int permits = environment.getProperty("app.concurrency.db-permits", Integer.class, 20);
+        long acquireTimeoutMs = environment.getProperty("app.concurrency.acquire-timeout-ms", Long.class, 20000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (limitsEnabled && bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    logger.info("Database concurrency limited to {} permits (bean: {})", permits, beanName);
+                    return new BoundedDataSource(dataSource, permits, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+            .filter(BoundedDataSource.class::isInstance)
+            .map(BoundedDataSource.class::cast)
+            .findFirst()
+            .ifPresent(bounded -> {
+                Gauge.builder("app.db.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                    .register(registry);
+                Gauge.builder("app.db.permits.waiting", bounded, BoundedDataSource::getQueueLength)
+                    .description("Threads waiting for a database permit")
+                    .register(registry);
+            });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        boolean virtualRequested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtualRequested && Runtime.version().feature() < 21) {
+            // Spring Boot silently ignores the property below Java 21
+            logger.warn("Virtual threads requested but running on Java {} - using platform threads (Java 21+ required)",
+                Runtime.version().feature());
+        } else {
+            logger.info("Request handling uses {} threads", virtualRequested ? "virtual" : "platform");
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.projectspring.controller;
 
+import com.projectspring.config.QueryBudget;
 import com.projectspring.dto.CalendarViewDTO;
 import com.projectspring.dto.TaskDTO;
+import com.projectspring.dto.TaskField;
 import com.projectspring.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,12 +22,15 @@ public class CalendarController {
     private TaskService taskService;
     
     @GetMapping("/{year}")
+    @QueryBudget(10)
     public ResponseEntity<CalendarViewDTO> getCalendarByYear(
             @PathVariable int year,
             @RequestParam(required = false) Long teamId,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields) {
         
-        List<TaskDTO> tasks = taskService.getTasks(teamId, year, null, projectId);
+        List<TaskDTO> tasks = taskService.getTasks(teamId, year, null, projectId, calendarFields(view, fields));
         
         CalendarViewDTO dto = new CalendarViewDTO();
         dto.setYear(year);
@@ -53,13 +58,16 @@ public class CalendarController {
     }
     
     @GetMapping("/{year}/{month}")
+    @QueryBudget(10)
     public ResponseEntity<Map<String, List<TaskDTO>>> getCalendarByMonth(
             @PathVariable int year,
             @PathVariable int month,
             @RequestParam(required = false) Long teamId,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields) {
         
-        List<TaskDTO> tasks = taskService.getTasks(teamId, year, month, projectId);
+        List<TaskDTO> tasks = taskService.getTasks(teamId, year, month, projectId, calendarFields(view, fields));
         
         Map<String, List<TaskDTO>> tasksByWeek = new HashMap<>();
         for (TaskDTO task : tasks) {
@@ -70,6 +78,13 @@ public class CalendarController {
         return ResponseEntity.ok(tasksByWeek);
     }
     
+    // Tasks are grouped by start date, so it is always loaded
+    private Set<TaskField> calendarFields(String view, List<String> fields) {
+        EnumSet<TaskField> selected = TaskField.resolve(view, fields);
+        selected.add(TaskField.START_DATE);
+        return selected;
+    }
+    
     private String getWeekKey(LocalDate date) {
         int year = date.getYear();
         int month = date.getMonthValue();
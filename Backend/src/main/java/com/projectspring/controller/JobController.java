@@ -0,0 +1,44 @@
+package com.projectspring.controller;
+
+import com.projectspring.dto.JobRunDTO;
+import com.projectspring.service.JobCoordinator;
+import com.projectspring.service.TaskReadModelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN')")
+public class JobController {
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private TaskReadModelService taskReadModelService;
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<JobRunDTO>> getRecentRuns(@RequestParam(required = false) String job,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobCoordinator.getRecentRuns(job, limit));
+    }
+
+    // -1 from the service: the job is already running on another replica
+    @PostMapping("/task-read-model/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildTaskReadModel() {
+        int rows = taskReadModelService.rebuild();
+        return ResponseEntity.ok(Map.of("ran", rows >= 0, "rows", Math.max(rows, 0)));
+    }
+
+    @PostMapping("/task-read-model/check")
+    public ResponseEntity<Map<String, Object>> checkTaskReadModel() {
+        int repaired = taskReadModelService.check();
+        return ResponseEntity.ok(Map.of("ran", repaired >= 0, "repaired", Math.max(repaired, 0)));
+    }
+}
@@ -1,8 +1,12 @@
 package com.projectspring.controller;
 
+import com.projectspring.dto.LdapBulkImportRequest;
+import com.projectspring.dto.LdapBulkImportResultDTO;
 import com.projectspring.dto.LdapSearchRequest;
+import com.projectspring.dto.LdapSyncResultDTO;
 import com.projectspring.dto.LdapUserDTO;
 import com.projectspring.model.User;
+import com.projectspring.service.LdapDirectorySyncService;
 import com.projectspring.service.LdapImportService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +29,9 @@ public class LdapImportController {
     @Autowired
     private LdapImportService ldapImportService;
 
+    @Autowired
+    private LdapDirectorySyncService ldapDirectorySyncService;
+
     @PostMapping("/search")
     public ResponseEntity<?> searchUsers(@Valid @RequestBody LdapSearchRequest request) {
         try {
@@ -80,5 +87,29 @@ public class LdapImportController {
                     .body(Map.of("error", "Failed to import LDAP user"));
         }
     }
-}
 
+    @PostMapping("/import/bulk")
+    public ResponseEntity<?> bulkImportUsers(@Valid @RequestBody LdapBulkImportRequest request) {
+        try {
+            LdapBulkImportResultDTO result = ldapImportService.bulkImport(request);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to import LDAP users"));
+        }
+    }
+
+    @PostMapping("/sync")
+    public ResponseEntity<?> syncDirectory(@RequestParam(defaultValue = "false") boolean full) {
+        try {
+            LdapSyncResultDTO result = ldapDirectorySyncService.runSync(full);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "LDAP sync failed: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.projectspring.controller;
+
+import com.projectspring.dto.NotificationDTO;
+import com.projectspring.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @GetMapping
+    public ResponseEntity<List<NotificationDTO>> getNotifications(@RequestParam(defaultValue = "false") boolean unreadOnly,
+                                                                  @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(notificationService.getNotifications(unreadOnly, limit));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Integer>> getUnreadCount() {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount()));
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Map<String, Integer>> markRead(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.markRead(id)));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead() {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.markAllRead()));
+    }
+}
@@ -20,9 +20,9 @@ public class ProjectController {
     private ProjectService projectService;
     
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
+    public ResponseEntity<List<ProjectDTO>> getAllProjects(@RequestParam(defaultValue = "false") boolean includeBreakdown) {
         try {
-            List<ProjectDTO> projects = projectService.getAllProjects();
+            List<ProjectDTO> projects = projectService.getAllProjects(includeBreakdown);
             return ResponseEntity.ok(projects);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -30,9 +30,10 @@ public class ProjectController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id,
+                                                     @RequestParam(defaultValue = "false") boolean includeBreakdown) {
         try {
-            ProjectDTO project = projectService.getProjectById(id);
+            ProjectDTO project = projectService.getProjectById(id, includeBreakdown);
             return ResponseEntity.ok(project);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
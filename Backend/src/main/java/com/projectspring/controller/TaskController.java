@@ -1,12 +1,16 @@
 package com.projectspring.controller;
 
+import com.projectspring.config.QueryBudget;
 import com.projectspring.dto.*;
+import com.projectspring.model.enums.TaskStatus;
 import com.projectspring.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,13 +23,42 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
     
+    /**
+     * Task list. {@code view=summary} or {@code fields=title,status,...} narrow each task to its id
+     * and the given TaskDTO properties; only those columns are read.
+     */
     @GetMapping
+    @QueryBudget(10) // One read-model query plus the access checks, whatever the list size
     public ResponseEntity<List<TaskDTO>> getTasks(
             @RequestParam(required = false) Long teamId,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Long projectId) {
-        return ResponseEntity.ok(taskService.getTasks(teamId, year, month, projectId));
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields) {
+        return ResponseEntity.ok(taskService.getTasks(teamId, year, month, projectId, TaskField.resolve(view, fields)));
+    }
+    
+    /**
+     * Server-Sent Events stream of task changes (created, updated, status, deleted, refresh, reset)
+     * for one team or all accessible teams. Browsers send Last-Event-ID when they reconnect.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
+            @RequestParam(required = false) Long teamId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskService.streamTaskChanges(teamId, lastEventId);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPageDTO> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, teamId, status, projectId, cursor, limit));
     }
     
     @GetMapping("/{id}")
@@ -57,11 +90,14 @@ public class TaskController {
     }
     
     @GetMapping("/date-range")
+    @QueryBudget(10)
     public ResponseEntity<List<TaskDTO>> getTasksByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Long teamId) {
-        return ResponseEntity.ok(taskService.getTasksByDateRange(startDate, endDate, teamId));
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> fields) {
+        return ResponseEntity.ok(taskService.getTasksByDateRange(startDate, endDate, teamId, TaskField.resolve(view, fields)));
     }
 }
 
@@ -1,24 +1,27 @@
 package com.projectspring.controller;
 
 import com.projectspring.dto.ChangePasswordRequest;
-import com.projectspring.dto.TaskDTO;
+import com.projectspring.dto.TaskPageDTO;
 import com.projectspring.dto.UserWithTasksDTO;
 import com.projectspring.model.User;
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
 import com.projectspring.repository.TaskRepository;
 import com.projectspring.repository.UserRepository;
 import com.projectspring.service.TaskService;
 import com.projectspring.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users/me")
@@ -35,23 +38,15 @@ public class UserProfileController {
     private UserService userService;
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskDTO>> getMyTasks() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Get all tasks assigned to this user
-            List<TaskDTO> allTasks = taskService.getTasks(null, null, null, null);
-            List<TaskDTO> tasks = allTasks.stream()
-                    .filter(task -> task.getAssigneeIds() != null && task.getAssigneeIds().contains(user.getId()))
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(tasks);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<TaskPageDTO> getMyTasks(
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) List<Priority> priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "true") boolean includeSubtasks,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(taskService.getMyTasks(status, priority, dueFrom, dueTo, includeSubtasks, cursor, limit));
     }
 
     @PutMapping("/profile")
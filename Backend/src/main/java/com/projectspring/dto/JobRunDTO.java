@@ -0,0 +1,24 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunDTO {
+    private Long id;
+    private String jobName;
+    private Integer shard;
+    private Integer shardCount;
+    private String owner;
+    private String status; // RUNNING, SUCCEEDED, FAILED
+    private int itemsProcessed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private String error;
+}
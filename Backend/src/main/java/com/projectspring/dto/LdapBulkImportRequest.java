@@ -0,0 +1,23 @@
+package com.projectspring.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LdapBulkImportRequest {
+    // Either a list of uids or an LDAP filter (e.g. "(departmentNumber=42)"); both may be combined
+    @Size(max = 1000, message = "At most 1000 usernames can be imported at once")
+    private List<String> usernames;
+    
+    @Size(max = 500, message = "Filter is too long")
+    private String filter;
+    
+    private Set<Long> roleIds; // Optional, default role is assigned when empty
+}
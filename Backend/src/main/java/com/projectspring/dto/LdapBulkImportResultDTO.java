@@ -0,0 +1,21 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LdapBulkImportResultDTO {
+    private int found;
+    private int created;
+    private int reactivated;
+    private int skipped;
+    private int failed;
+    private long durationMs;
+    private List<LdapImportResultDTO> results = new ArrayList<>();
+}
@@ -0,0 +1,23 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LdapImportResultDTO {
+    private String username;
+    private String ldapDn;
+    private Status status;
+    private String message;
+    
+    public enum Status {
+        CREATED,
+        REACTIVATED,
+        ALREADY_EXISTS,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -0,0 +1,22 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LdapSyncResultDTO {
+    private boolean executed;
+    private boolean fullSync;
+    private int pages;
+    private int entriesSeen;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private long durationMs;
+    private String highWaterMark;
+    private String message;
+}
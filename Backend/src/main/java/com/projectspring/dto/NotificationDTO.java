@@ -0,0 +1,22 @@
+package com.projectspring.dto;
+
+import com.projectspring.model.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDTO {
+    private Long id;
+    private NotificationType type;
+    private Long taskId;
+    private String message;
+    private int eventCount; // Events merged into this notification while it was unread
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueSweepResultDTO {
+    private boolean executed;
+    private int batches;
+    private int tasksMarked;
+    private long durationMs;
+    private String message;
+}
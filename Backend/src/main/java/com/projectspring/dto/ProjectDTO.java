@@ -1,5 +1,6 @@
 package com.projectspring.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.projectspring.model.enums.ProjectStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -25,5 +27,10 @@ public class ProjectDTO {
     private Long taskCount;
     private Long completedTaskCount;
     private Long activeTaskCount;
+    // Only with ?includeBreakdown=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Long> statusCounts;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long overdueTaskCount;
 }
 
@@ -0,0 +1,11 @@
+package com.projectspring.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A task of a list narrowed with {@code fields=} or {@code view=summary}: only the id and the
+ * requested properties are set, and null properties are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseTaskDTO extends TaskDTO {
+}
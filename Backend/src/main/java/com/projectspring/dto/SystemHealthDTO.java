@@ -13,10 +13,13 @@ public class SystemHealthDTO {
     private HealthStatus backendStatus;
     private HealthStatus databaseStatus;
     private HealthStatus frontendStatus;
+    private HealthStatus ldapStatus;
     private LocalDateTime lastChecked;
     private String backendMessage;
     private String databaseMessage;
     private String frontendMessage;
+    private String ldapMessage;
+    private String ldapCircuitState;
     
     public enum HealthStatus {
         HEALTHY,
@@ -0,0 +1,78 @@
+package com.projectspring.dto;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The TaskDTO properties a task list can be narrowed to with {@code fields=} or {@code view=}.
+ * The id is always returned. Only the columns of the requested fields are read from the database.
+ */
+public enum TaskField {
+    TITLE("title"),
+    CONTENT("content"),
+    START_DATE("startDate"),
+    END_DATE("endDate"),
+    STATUS("status"),
+    TASK_TYPE("taskType"),
+    PRIORITY("priority"),
+    TEAM_ID("teamId"),
+    TEAM_NAME("teamName"),
+    TEAM_COLOR("teamColor"),
+    TEAM_ICON("teamIcon"),
+    PROJECT_ID("projectId"),
+    PROJECT_NAME("projectName"),
+    CREATED_BY_ID("createdById"),
+    CREATED_BY_NAME("createdByName"),
+    ASSIGNEE_IDS("assigneeIds"),
+    ASSIGNEE_NAMES("assigneeNames"),
+    SUBTASKS("subtasks"),
+    POSTPONED_TO_DATE("postponedToDate"),
+    POSTPONED_FROM_DATE("postponedFromDate"),
+    IS_POSTPONED("isPostponed");
+
+    // What calendar and Kanban cells show
+    private static final Set<TaskField> SUMMARY = EnumSet.of(TITLE, STATUS, START_DATE, END_DATE, TEAM_ID, TEAM_COLOR);
+
+    private final String property;
+
+    TaskField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Resolves the {@code view} (full, the default, or summary) and {@code fields} (TaskDTO
+     * property names; overrides the view) request parameters to a mutable set of fields.
+     */
+    public static EnumSet<TaskField> resolve(String view, Collection<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            EnumSet<TaskField> selected = EnumSet.noneOf(TaskField.class);
+            for (String name : fields) {
+                if (!name.isBlank() && !"id".equals(name.trim())) {
+                    selected.add(fromProperty(name.trim()));
+                }
+            }
+            return selected;
+        }
+        if (view == null || view.isBlank() || "full".equalsIgnoreCase(view)) {
+            return EnumSet.allOf(TaskField.class);
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return EnumSet.copyOf(SUMMARY);
+        }
+        throw new IllegalArgumentException("Unknown view: " + view + " (expected full or summary)");
+    }
+
+    private static TaskField fromProperty(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task field: " + property);
+    }
+}
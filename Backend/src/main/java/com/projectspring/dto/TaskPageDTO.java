@@ -0,0 +1,16 @@
+package com.projectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    // Pass as "cursor" to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.projectspring.dto;
+
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchHitDTO {
+    private Long id;
+    private String title;
+    private TaskStatus status;
+    private Priority priority;
+    private LocalDate endDate;
+    private Long teamId;
+    private String teamName;
+    private String teamColor;
+    private Long projectId;
+    private String projectName;
+    private float rank;
+    // HTML-escaped text with matches wrapped in <mark></mark>
+    private String titleHighlight;
+    private String contentHighlight; // Fragments of the content around the matches (its start if only the title matches); null without content
+    private List<String> subtaskHighlights; // Titles of the subtasks that match
+}
@@ -0,0 +1,19 @@
+package com.projectspring.event;
+
+import com.projectspring.dto.TaskDTO;
+
+/**
+ * Published by TaskService for every task write; TaskEventHub streams it to the task's team
+ * once the transaction commits, and NotificationService records it in the notification outbox
+ * before. {@code previous} is set for UPDATED and DELETED, {@code current} for everything but
+ * DELETED; {@code actorId} is the user who made the change.
+ */
+public record TaskChangeEvent(Type type, TaskDTO previous, TaskDTO current, Long actorId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+}
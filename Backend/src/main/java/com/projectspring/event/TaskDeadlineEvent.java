@@ -0,0 +1,10 @@
+package com.projectspring.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by TaskDeadlineScheduler when an open task's end date is near, inside the transaction
+ * that claims the warning. Marking a task OVERDUE is announced with TasksOverdueEvent instead.
+ */
+public record TaskDeadlineEvent(Long taskId, String title, Long teamId, LocalDate endDate) {
+}
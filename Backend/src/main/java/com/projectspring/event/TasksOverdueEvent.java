@@ -0,0 +1,14 @@
+package com.projectspring.event;
+
+import java.util.List;
+
+/**
+ * Published by OverdueTaskService inside each transaction that marks tasks OVERDUE, whether the
+ * deadline scheduler or the nightly sweep marked them. NotificationService writes the outbox rows
+ * before that transaction commits and TaskEventHub streams the change once it has.
+ */
+public record TasksOverdueEvent(List<OverdueTask> tasks) {
+
+    public record OverdueTask(Long taskId, String title, Long teamId) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.projectspring.exception;
+
+/**
+ * Thrown when a page cursor sent by a client cannot be decoded. The message is safe to return.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException() {
+        super("Invalid cursor");
+    }
+}
@@ -0,0 +1,12 @@
+package com.projectspring.exception;
+
+/**
+ * Thrown instead of running a statement that would take a request over its SQL statement budget,
+ * when app.query-budget.fail-on-exceed is set (tests). In normal operation the overrun is only logged.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
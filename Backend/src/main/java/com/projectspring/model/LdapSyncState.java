@@ -0,0 +1,66 @@
+package com.projectspring.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ldap_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LdapSyncState {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // LDAP URL + user search base the high-water mark belongs to
+    @Column(length = 1000)
+    private String scope;
+    
+    // Highest modifyTimestamp (generalized time, e.g. 20250101120000Z) seen by a completed sync
+    @Column(name = "high_water_mark", length = 32)
+    private String highWaterMark;
+    
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+    
+    @Column(name = "last_full_sync_at")
+    private LocalDateTime lastFullSyncAt;
+    
+    @Column(name = "last_entries_seen", nullable = false)
+    private Integer lastEntriesSeen = 0;
+    
+    @Column(name = "last_inserted", nullable = false)
+    private Integer lastInserted = 0;
+    
+    @Column(name = "last_updated", nullable = false)
+    private Integer lastUpdated = 0;
+    
+    @Column(name = "last_duration_ms", nullable = false)
+    private Long lastDurationMs = 0L;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -2,6 +2,8 @@ package com.projectspring.model;
 
 import com.projectspring.model.enums.ProjectStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +14,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "projects")
 @Data
 @NoArgsConstructor
@@ -43,6 +47,7 @@ public class Project {
     private User createdBy;
     
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "project_teams",
         joinColumns = @JoinColumn(name = "project_id"),
@@ -1,6 +1,8 @@
 package com.projectspring.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +12,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "teams")
 @Data
 @NoArgsConstructor
@@ -30,6 +34,7 @@ public class Team {
     @JoinColumn(name = "leader_id")
     private User leader;
     
+    // Not cached: the inverse side is not invalidated when User.teams changes
     @ManyToMany(mappedBy = "teams", fetch = FetchType.LAZY)
     private Set<User> members = new HashSet<>();
     
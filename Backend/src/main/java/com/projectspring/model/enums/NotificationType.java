@@ -0,0 +1,9 @@
+package com.projectspring.model.enums;
+
+public enum NotificationType {
+    TASK_ASSIGNED,
+    TASK_UPDATED,
+    STATUS_CHANGED,
+    DEADLINE_APPROACHING,
+    TASK_OVERDUE
+}
@@ -0,0 +1,168 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.SubtaskDTO;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.model.enums.TaskType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The tasks assigned to one user, page by page in (end_date, id) order. The query starts from the
+ * user's rows in task_assignees (and subtasks), so its cost depends on how many tasks the user
+ * has, not on the size of the tasks table.
+ */
+@Repository
+public class AssignedTaskRepository {
+
+    private static final String PAGE_SQL =
+        "WITH mine AS (" +
+        "  SELECT task_id FROM task_assignees WHERE user_id = :userId" +
+        "  %s" +
+        ") " +
+        "SELECT t.id, t.title, t.content, t.start_date, t.end_date, t.status, t.task_type, t.priority, " +
+        "       t.team_id, tm.name AS team_name, tm.color AS team_color, tm.icon AS team_icon, " +
+        "       t.project_id, p.name AS project_name, t.created_by, cu.full_name AS created_by_name, " +
+        "       t.postponed_to_date, t.postponed_from_date, t.is_postponed, a.assignee_ids, a.assignee_names " +
+        "FROM tasks t " +
+        "JOIN mine m ON m.task_id = t.id " +
+        "JOIN teams tm ON tm.id = t.team_id " +
+        "JOIN users cu ON cu.id = t.created_by " +
+        "LEFT JOIN projects p ON p.id = t.project_id " +
+        "LEFT JOIN LATERAL (" +
+        "  SELECT array_agg(u.id ORDER BY u.id) AS assignee_ids, array_agg(u.full_name ORDER BY u.id) AS assignee_names " +
+        "  FROM task_assignees ta JOIN users u ON u.id = ta.user_id WHERE ta.task_id = t.id" +
+        ") a ON true " +
+        "WHERE true %s " +
+        "ORDER BY t.end_date, t.id " +
+        "LIMIT :limit";
+
+    // UNION (not UNION ALL): a task the user is assigned to and also has subtasks in appears once
+    private static final String SUBTASK_ASSIGNMENTS = "UNION SELECT task_id FROM subtasks WHERE assignee_id = :userId";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} tasks assigned to the user, ordered by end date and id, starting
+     * after ({@code afterEndDate}, {@code afterId}) when given. Null filters are not applied;
+     * {@code teamIds} null means tasks of every team.
+     */
+    public List<TaskDTO> findPage(Long userId, boolean includeSubtaskAssignments, Collection<Long> teamIds,
+                                  Collection<TaskStatus> statuses, Collection<Priority> priorities,
+                                  LocalDate dueFrom, LocalDate dueTo,
+                                  LocalDate afterEndDate, Long afterId, int limit) {
+        if (teamIds != null && teamIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("limit", limit);
+
+        // Only the filters in use go into the SQL, so the planner sees plain predicates
+        StringBuilder where = new StringBuilder();
+        if (teamIds != null) {
+            where.append(" AND t.team_id IN (:teamIds)");
+            params.addValue("teamIds", teamIds);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            where.append(" AND t.status IN (:statuses)");
+            params.addValue("statuses", statuses.stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        if (priorities != null && !priorities.isEmpty()) {
+            where.append(" AND t.priority IN (:priorities)");
+            params.addValue("priorities", priorities.stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        if (dueFrom != null) {
+            where.append(" AND t.end_date >= :dueFrom");
+            params.addValue("dueFrom", dueFrom);
+        }
+        if (dueTo != null) {
+            where.append(" AND t.end_date <= :dueTo");
+            params.addValue("dueTo", dueTo);
+        }
+        if (afterEndDate != null && afterId != null) {
+            where.append(" AND (t.end_date, t.id) > (:afterEndDate, :afterId)");
+            params.addValue("afterEndDate", afterEndDate);
+            params.addValue("afterId", afterId);
+        }
+
+        String sql = String.format(PAGE_SQL, includeSubtaskAssignments ? SUBTASK_ASSIGNMENTS : "", where);
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> toDTO(rs));
+    }
+
+    /**
+     * Subtasks of the given tasks, grouped by task id and ordered by id.
+     */
+    public Map<Long, List<SubtaskDTO>> findSubtasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Map.of();
+        }
+        return namedParameterJdbcTemplate.query(
+            "SELECT s.task_id, s.id, s.title, s.content, s.start_date, s.end_date, s.assignee_id, " +
+            "       u.full_name AS assignee_name, s.is_completed " +
+            "FROM subtasks s LEFT JOIN users u ON u.id = s.assignee_id " +
+            "WHERE s.task_id IN (:taskIds) ORDER BY s.id",
+            new MapSqlParameterSource("taskIds", taskIds),
+            (rs, rowNum) -> Map.entry(rs.getLong("task_id"), new SubtaskDTO(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class),
+                (Long) rs.getObject("assignee_id"),
+                rs.getString("assignee_name"),
+                rs.getBoolean("is_completed"))))
+            .stream()
+            .collect(Collectors.groupingBy(Map.Entry::getKey,
+                Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+    }
+
+    private static TaskDTO toDTO(ResultSet rs) throws SQLException {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setTitle(rs.getString("title"));
+        dto.setContent(rs.getString("content"));
+        dto.setStartDate(rs.getObject("start_date", LocalDate.class));
+        dto.setEndDate(rs.getObject("end_date", LocalDate.class));
+        dto.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        dto.setTaskType(TaskType.valueOf(rs.getString("task_type")));
+        dto.setPriority(Priority.valueOf(rs.getString("priority")));
+        dto.setTeamId(rs.getLong("team_id"));
+        dto.setTeamName(rs.getString("team_name"));
+        dto.setTeamColor(rs.getString("team_color"));
+        dto.setTeamIcon(rs.getString("team_icon"));
+        dto.setProjectId((Long) rs.getObject("project_id"));
+        dto.setProjectName(rs.getString("project_name"));
+        dto.setCreatedById(rs.getLong("created_by"));
+        dto.setCreatedByName(rs.getString("created_by_name"));
+        dto.setAssigneeIds(new LinkedHashSet<>(toList(rs.getArray("assignee_ids"), Long.class)));
+        dto.setAssigneeNames(toList(rs.getArray("assignee_names"), String.class));
+        dto.setPostponedToDate(rs.getObject("postponed_to_date", LocalDate.class));
+        dto.setPostponedFromDate(rs.getObject("postponed_from_date", LocalDate.class));
+        dto.setIsPostponed(rs.getBoolean("is_postponed"));
+        return dto;
+    }
+
+    private static <T> List<T> toList(Array array, Class<T> type) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream((Object[]) array.getArray()).map(type::cast).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.JobRunDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to job_locks and job_runs for JobCoordinator. Lease times use the database clock
+ * (now()), so replicas with skewed clocks still agree on who holds a lock.
+ */
+@Repository
+public class JobLockRepository {
+
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO job_locks (job_name, owner, locked_at, locked_until) " +
+        "VALUES (:job, :owner, now(), now() + :leaseMs * interval '1 millisecond') " +
+        "ON CONFLICT (job_name) DO UPDATE SET " +
+        "owner = EXCLUDED.owner, locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until " +
+        "WHERE job_locks.locked_until <= now() " +
+        "RETURNING job_name";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Takes the lock when it is free or its lease has expired. Returns false while another
+     * replica holds it (or held it less than its minimum interval ago).
+     */
+    public boolean tryAcquire(String job, String owner, long leaseMs) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("job", job)
+            .addValue("owner", owner)
+            .addValue("leaseMs", leaseMs);
+        return !namedParameterJdbcTemplate.queryForList(ACQUIRE_SQL, params, String.class).isEmpty();
+    }
+
+    /**
+     * Extends the lease of a lock this owner still holds; false means it was lost.
+     */
+    public boolean renew(String job, String owner, long leaseMs) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("job", job)
+            .addValue("owner", owner)
+            .addValue("leaseMs", leaseMs);
+        return namedParameterJdbcTemplate.update(
+            "UPDATE job_locks SET locked_until = now() + :leaseMs * interval '1 millisecond' " +
+            "WHERE job_name = :job AND owner = :owner",
+            params) > 0;
+    }
+
+    /**
+     * Releases the lock, but keeps it until {@code minIntervalMs} after it was taken so replicas
+     * whose timer fires a little later do not run the same job again.
+     */
+    public void release(String job, String owner, long minIntervalMs) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("job", job)
+            .addValue("owner", owner)
+            .addValue("minIntervalMs", minIntervalMs);
+        namedParameterJdbcTemplate.update(
+            "UPDATE job_locks SET locked_until = GREATEST(now(), locked_at + :minIntervalMs * interval '1 millisecond') " +
+            "WHERE job_name = :job AND owner = :owner",
+            params);
+    }
+
+    public Long insertRun(String job, Integer shard, Integer shardCount, String owner) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("job", job)
+            .addValue("shard", shard)
+            .addValue("shardCount", shardCount)
+            .addValue("owner", owner);
+        return namedParameterJdbcTemplate.queryForObject(
+            "INSERT INTO job_runs (job_name, shard, shard_count, owner, status, started_at) " +
+            "VALUES (:job, :shard, :shardCount, :owner, 'RUNNING', now()) RETURNING id",
+            params, Long.class);
+    }
+
+    public void finishRun(Long runId, String status, int itemsProcessed, long durationMs, String error) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", runId)
+            .addValue("status", status)
+            .addValue("items", itemsProcessed)
+            .addValue("durationMs", durationMs)
+            .addValue("error", error);
+        namedParameterJdbcTemplate.update(
+            "UPDATE job_runs SET status = :status, items_processed = :items, finished_at = now(), " +
+            "duration_ms = :durationMs, error = :error WHERE id = :id",
+            params);
+    }
+
+    /**
+     * Most recent runs first, optionally for one job (all shards).
+     */
+    public List<JobRunDTO> findRecentRuns(String job, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("job", job)
+            .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(
+            "SELECT id, job_name, shard, shard_count, owner, status, items_processed, started_at, finished_at, " +
+            "duration_ms, error FROM job_runs " +
+            "WHERE CAST(:job AS VARCHAR) IS NULL OR job_name = :job " +
+            "ORDER BY started_at DESC, id DESC LIMIT :limit",
+            params,
+            (rs, rowNum) -> {
+                JobRunDTO run = new JobRunDTO();
+                run.setId(rs.getLong("id"));
+                run.setJobName(rs.getString("job_name"));
+                run.setShard((Integer) rs.getObject("shard"));
+                run.setShardCount((Integer) rs.getObject("shard_count"));
+                run.setOwner(rs.getString("owner"));
+                run.setStatus(rs.getString("status"));
+                run.setItemsProcessed(rs.getInt("items_processed"));
+                run.setStartedAt(rs.getObject("started_at", LocalDateTime.class));
+                run.setFinishedAt(rs.getObject("finished_at", LocalDateTime.class));
+                run.setDurationMs((Long) rs.getObject("duration_ms"));
+                run.setError(rs.getString("error"));
+                return run;
+            });
+    }
+
+    public int deleteRunsBefore(int retentionDays) {
+        return namedParameterJdbcTemplate.update(
+            "DELETE FROM job_runs WHERE started_at < now() - :days * interval '1 day'",
+            new MapSqlParameterSource("days", retentionDays));
+    }
+}
@@ -0,0 +1,12 @@
+package com.projectspring.repository;
+
+import com.projectspring.model.LdapSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LdapSyncStateRepository extends JpaRepository<LdapSyncState, Long> {
+    Optional<LdapSyncState> findFirstByOrderByIdAsc();
+}
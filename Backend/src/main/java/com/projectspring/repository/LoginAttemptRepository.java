@@ -1,8 +1,12 @@
 package com.projectspring.repository;
 
 import com.projectspring.model.LoginAttempt;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,6 +28,19 @@ public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long
     @Query("SELECT la FROM LoginAttempt la WHERE la.ipAddress = :ipAddress AND la.attemptTime > :since ORDER BY la.attemptTime DESC")
     List<LoginAttempt> findRecentAttemptsByIp(@Param("ipAddress") String ipAddress, @Param("since") LocalDateTime since);
     
-    void deleteByAttemptTimeBefore(LocalDateTime cutoff);
+    // Newest expired row through the attempt_time index; ids grow with attempt_time, so it bounds the purge
+    @Query(value = "SELECT id FROM login_attempts WHERE attempt_time < :cutoff ORDER BY attempt_time DESC LIMIT 1",
+           nativeQuery = true)
+    Long findNewestIdBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT MIN(la.id) FROM LoginAttempt la")
+    Long findMinId();
+    
+    // Declare the table so Hibernate does not treat the native DELETE as touching every cached entity
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "login_attempts"))
+    @Query(value = "DELETE FROM login_attempts WHERE id >= :fromId AND id < :toId AND attempt_time < :cutoff",
+           nativeQuery = true)
+    int deleteRangeBefore(@Param("fromId") long fromId, @Param("toId") long toId, @Param("cutoff") LocalDateTime cutoff);
 }
 
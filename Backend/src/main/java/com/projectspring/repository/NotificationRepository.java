@@ -0,0 +1,231 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.NotificationDTO;
+import com.projectspring.model.enums.NotificationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to the notification outbox, the notifications and the per-user unread counters.
+ * Every statement that changes the unread state of notifications adjusts the counter in the same
+ * statement, so reading the count never needs a COUNT(*).
+ */
+@Repository
+public class NotificationRepository {
+
+    // Takes a batch of outbox rows and deletes them; concurrent dispatchers on other replicas skip
+    // the locked rows. Events without recipients go to the task's current assignees.
+    private static final String CLAIM_OUTBOX_SQL =
+        "WITH batch AS (" +
+        "  SELECT id FROM notification_outbox ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED" +
+        "), claimed AS (" +
+        "  DELETE FROM notification_outbox o USING batch b WHERE o.id = b.id " +
+        "  RETURNING o.id, o.type, o.task_id, o.task_title, o.detail, o.actor_id, o.recipient_ids" +
+        ") " +
+        "SELECT c.id, c.type, c.task_id, c.task_title, c.detail, c.actor_id, " +
+        "       COALESCE(c.recipient_ids, (SELECT array_agg(ta.user_id) FROM task_assignees ta WHERE ta.task_id = c.task_id)) AS recipient_ids " +
+        "FROM claimed c ORDER BY c.id";
+
+    // Merges into the user's unread notification for the same task and type if there is one;
+    // only newly inserted rows raise the unread counter. Users deleted meanwhile are skipped.
+    private static final String UPSERT_NOTIFICATIONS_SQL =
+        "WITH input AS (" +
+        "  SELECT i.* FROM unnest(:userIds, :types, :taskIds, :messages, :eventCounts) " +
+        "    AS i(user_id, type, task_id, message, event_count) " +
+        "  JOIN users u ON u.id = i.user_id" +
+        "), upserted AS (" +
+        "  INSERT INTO notifications (user_id, type, task_id, message, event_count, is_read, created_at, updated_at) " +
+        "  SELECT user_id, type, task_id, message, event_count, false, now(), now() FROM input " +
+        "  ON CONFLICT (user_id, type, task_id) WHERE NOT is_read DO UPDATE SET " +
+        "    message = EXCLUDED.message, " +
+        "    event_count = notifications.event_count + EXCLUDED.event_count, " +
+        "    updated_at = EXCLUDED.updated_at " +
+        "  RETURNING user_id, (xmax = 0) AS inserted" +
+        "), counted AS (" +
+        "  INSERT INTO notification_counters (user_id, unread_count) " +
+        "  SELECT user_id, count(*) FROM upserted WHERE inserted GROUP BY user_id " +
+        "  ON CONFLICT (user_id) DO UPDATE SET unread_count = notification_counters.unread_count + EXCLUDED.unread_count" +
+        ") " +
+        "SELECT count(*) FILTER (WHERE inserted) FROM upserted";
+
+    private static final String MARK_READ_SQL =
+        "WITH marked AS (" +
+        "  UPDATE notifications SET is_read = true WHERE user_id = :userId AND NOT is_read %s RETURNING id" +
+        "), counted AS (" +
+        "  UPDATE notification_counters SET unread_count = GREATEST(unread_count - (SELECT count(*) FROM marked), 0) " +
+        "  WHERE user_id = :userId" +
+        ") " +
+        "SELECT count(*) FROM marked";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public record OutboxEvent(Long id, NotificationType type, Long taskId, String taskTitle, String detail,
+                              Long actorId, List<Long> recipientIds) {
+    }
+
+    public record PendingNotification(Long userId, NotificationType type, Long taskId, String message, int eventCount) {
+    }
+
+    public record OutboxTask(Long taskId, String taskTitle) {
+    }
+
+    /**
+     * Adds an event to the outbox in the caller's transaction. {@code recipientIds} null means
+     * the task's assignees when the event is dispatched.
+     */
+    public void insertOutbox(NotificationType type, Long taskId, String taskTitle, String detail,
+                             Long actorId, Collection<Long> recipientIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("type", type.name())
+            .addValue("taskId", taskId)
+            .addValue("taskTitle", taskTitle)
+            .addValue("detail", detail)
+            .addValue("actorId", actorId)
+            .addValue("recipientIds", recipientIds == null ? null : array("bigint", recipientIds.toArray()), Types.ARRAY);
+        namedParameterJdbcTemplate.update(
+            "INSERT INTO notification_outbox (type, task_id, task_title, detail, actor_id, recipient_ids, created_at) " +
+            "VALUES (:type, :taskId, :taskTitle, :detail, :actorId, :recipientIds, now())",
+            params);
+    }
+
+    /**
+     * Adds one event per task to the outbox in the caller's transaction, with a single statement.
+     * The events go to the task's assignees when they are dispatched.
+     */
+    public void insertOutbox(NotificationType type, Collection<OutboxTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("type", type.name())
+            .addValue("taskIds", array("bigint", tasks.stream().map(OutboxTask::taskId).toArray()), Types.ARRAY)
+            .addValue("taskTitles", array("varchar", tasks.stream().map(OutboxTask::taskTitle).toArray()), Types.ARRAY);
+        namedParameterJdbcTemplate.update(
+            "INSERT INTO notification_outbox (type, task_id, task_title, created_at) " +
+            "SELECT :type, u.task_id, u.task_title, now() FROM unnest(:taskIds, :taskTitles) AS u(task_id, task_title)",
+            params);
+    }
+
+    /**
+     * Removes up to {@code batchSize} of the oldest outbox events and returns them. Call inside
+     * the transaction that stores the resulting notifications, so a failure puts them back.
+     */
+    public List<OutboxEvent> claimOutboxBatch(int batchSize) {
+        return namedParameterJdbcTemplate.query(CLAIM_OUTBOX_SQL, new MapSqlParameterSource("batchSize", batchSize),
+            (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getLong("task_id"),
+                rs.getString("task_title"),
+                rs.getString("detail"),
+                (Long) rs.getObject("actor_id"),
+                toList(rs.getArray("recipient_ids"))));
+    }
+
+    /**
+     * Stores the notifications, merging each into an unread one for the same user, task and type.
+     * The keys must be distinct. Returns how many new notifications were created.
+     */
+    public int upsertNotifications(List<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("userIds", array("bigint", notifications.stream().map(PendingNotification::userId).toArray()), Types.ARRAY)
+            .addValue("types", array("varchar", notifications.stream().map(n -> n.type().name()).toArray()), Types.ARRAY)
+            .addValue("taskIds", array("bigint", notifications.stream().map(PendingNotification::taskId).toArray()), Types.ARRAY)
+            .addValue("messages", array("varchar", notifications.stream().map(PendingNotification::message).toArray()), Types.ARRAY)
+            .addValue("eventCounts", array("int4", notifications.stream().map(PendingNotification::eventCount).toArray()), Types.ARRAY);
+        Long created = namedParameterJdbcTemplate.queryForObject(UPSERT_NOTIFICATIONS_SQL, params, Long.class);
+        return created == null ? 0 : created.intValue();
+    }
+
+    /**
+     * The user's notifications, most recently updated first.
+     */
+    public List<NotificationDTO> findByUser(Long userId, boolean unreadOnly, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(
+            "SELECT id, type, task_id, message, event_count, is_read, created_at, updated_at FROM notifications " +
+            "WHERE user_id = :userId" + (unreadOnly ? " AND NOT is_read" : "") + " " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit",
+            params,
+            (rs, rowNum) -> new NotificationDTO(
+                rs.getLong("id"),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getLong("task_id"),
+                rs.getString("message"),
+                rs.getInt("event_count"),
+                rs.getBoolean("is_read"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class)));
+    }
+
+    public int getUnreadCount(Long userId) {
+        List<Integer> counts = namedParameterJdbcTemplate.queryForList(
+            "SELECT unread_count FROM notification_counters WHERE user_id = :userId",
+            new MapSqlParameterSource("userId", userId), Integer.class);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Marks one of the user's notifications as read; returns 0 if it was already read or is not theirs.
+     */
+    public int markRead(Long userId, Long notificationId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("userId", userId)
+            .addValue("id", notificationId);
+        return markRead(String.format(MARK_READ_SQL, "AND id = :id"), params);
+    }
+
+    public int markAllRead(Long userId) {
+        return markRead(String.format(MARK_READ_SQL, ""), new MapSqlParameterSource("userId", userId));
+    }
+
+    /**
+     * Deletes read notifications last updated before {@code cutoff}; unread ones are kept.
+     */
+    public int deleteReadBefore(LocalDateTime cutoff) {
+        return namedParameterJdbcTemplate.update(
+            "DELETE FROM notifications WHERE is_read AND updated_at < :cutoff",
+            new MapSqlParameterSource("cutoff", cutoff));
+    }
+
+    private int markRead(String sql, MapSqlParameterSource params) {
+        Long marked = namedParameterJdbcTemplate.queryForObject(sql, params, Long.class);
+        return marked == null ? 0 : marked.intValue();
+    }
+
+    private static AbstractSqlTypeValue array(String elementType, Object[] values) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection connection, int sqlType, String typeName) throws SQLException {
+                return connection.createArrayOf(elementType, values);
+            }
+        };
+    }
+
+    private static List<Long> toList(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream((Object[]) array.getArray()).map(Long.class::cast).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.ProjectDTO;
+import com.projectspring.model.enums.ProjectStatus;
+import com.projectspring.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Project listings with their teams and task counts in one query, instead of loading each
+ * project's teams and counting its tasks per project.
+ */
+@Repository
+public class ProjectSummaryRepository {
+
+    // One count column per status, e.g. count(*) FILTER (WHERE status = 'OPEN') AS open_count
+    private static final String STATUS_COUNT_COLUMNS = Arrays.stream(TaskStatus.values())
+        .map(status -> "count(*) FILTER (WHERE status = '" + status.name() + "') AS " + countColumn(status))
+        .collect(Collectors.joining(", "));
+
+    private static final String SUMMARY_SQL =
+        "WITH visible AS (" +
+        "  SELECT p.id FROM projects p WHERE CAST(:allProjects AS BOOLEAN) " +
+        "  OR EXISTS (SELECT 1 FROM project_teams pt WHERE pt.project_id = p.id AND pt.team_id IN (:teamIds))" +
+        "), task_counts AS (" +
+        "  SELECT project_id, count(*) AS task_count, " + STATUS_COUNT_COLUMNS + ", " +
+        // Marked OVERDUE, or past the end date and not yet swept
+        "  count(*) FILTER (WHERE status = 'OVERDUE' OR (end_date < :today " +
+        "    AND status NOT IN ('COMPLETED', 'CANCELLED', 'TESTING', 'OVERDUE'))) AS overdue_count " +
+        "  FROM tasks WHERE project_id IN (SELECT id FROM visible) GROUP BY project_id" +
+        "), team_lists AS (" +
+        "  SELECT pt.project_id, array_agg(tm.id ORDER BY tm.id) AS team_ids, array_agg(tm.name ORDER BY tm.id) AS team_names " +
+        "  FROM project_teams pt JOIN teams tm ON tm.id = pt.team_id " +
+        "  WHERE pt.project_id IN (SELECT id FROM visible) GROUP BY pt.project_id" +
+        ") " +
+        "SELECT p.id, p.name, p.description, p.start_date, p.end_date, p.status, p.created_by, " +
+        "       u.full_name AS created_by_name, tl.team_ids, tl.team_names, tc.* " +
+        "FROM projects p " +
+        "JOIN visible v ON v.id = p.id " +
+        "JOIN users u ON u.id = p.created_by " +
+        "LEFT JOIN task_counts tc ON tc.project_id = p.id " +
+        "LEFT JOIN team_lists tl ON tl.project_id = p.id " +
+        "ORDER BY p.id";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Loads every project that belongs to one of the teams, or all projects when {@code teamIds}
+     * is null. With {@code includeBreakdown} the per-status counts and the overdue count are set too.
+     */
+    public List<ProjectDTO> findSummaries(Collection<Long> teamIds, boolean includeBreakdown) {
+        if (teamIds != null && teamIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("allProjects", teamIds == null)
+            // IN () is invalid SQL; the value is not used when all projects are listed
+            .addValue("teamIds", teamIds == null ? List.of(-1L) : teamIds)
+            .addValue("today", LocalDate.now());
+        return namedParameterJdbcTemplate.query(SUMMARY_SQL, params, (rs, rowNum) -> toDTO(rs, includeBreakdown));
+    }
+
+    private static ProjectDTO toDTO(ResultSet rs, boolean includeBreakdown) throws SQLException {
+        ProjectDTO dto = new ProjectDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setName(rs.getString("name"));
+        dto.setDescription(rs.getString("description"));
+        dto.setStartDate(rs.getObject("start_date", LocalDate.class));
+        dto.setEndDate(rs.getObject("end_date", LocalDate.class));
+        dto.setStatus(ProjectStatus.valueOf(rs.getString("status")));
+        dto.setCreatedById(rs.getLong("created_by"));
+        dto.setCreatedByName(rs.getString("created_by_name"));
+        dto.setTeamIds(toList(rs.getArray("team_ids"), Long.class));
+        dto.setTeamNames(toList(rs.getArray("team_names"), String.class));
+
+        // Projects without tasks have no task_counts row, so every count column is NULL
+        Map<TaskStatus, Long> byStatus = new LinkedHashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, rs.getLong(countColumn(status)));
+        }
+        applyTaskCounts(dto, rs.getLong("task_count"), byStatus, rs.getLong("overdue_count"), includeBreakdown);
+        return dto;
+    }
+
+    /**
+     * Sets the task counts of a project: total, completed and active (neither completed nor
+     * cancelled), plus the per-status counts and the overdue count when {@code includeBreakdown}.
+     */
+    public static void applyTaskCounts(ProjectDTO dto, long taskCount, Map<TaskStatus, Long> byStatus,
+                                       long overdueCount, boolean includeBreakdown) {
+        long completed = byStatus.getOrDefault(TaskStatus.COMPLETED, 0L);
+        long cancelled = byStatus.getOrDefault(TaskStatus.CANCELLED, 0L);
+        dto.setTaskCount(taskCount);
+        dto.setCompletedTaskCount(completed);
+        dto.setActiveTaskCount(Math.max(0L, taskCount - completed - cancelled));
+        if (includeBreakdown) {
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            for (TaskStatus status : TaskStatus.values()) {
+                statusCounts.put(status.name(), byStatus.getOrDefault(status, 0L));
+            }
+            dto.setStatusCounts(statusCounts);
+            dto.setOverdueTaskCount(overdueCount);
+        }
+    }
+
+    private static <T> List<T> toList(Array array, Class<T> type) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream((Object[]) array.getArray()).map(type::cast).collect(Collectors.toList());
+    }
+
+    private static String countColumn(TaskStatus status) {
+        return status.name().toLowerCase() + "_count";
+    }
+}
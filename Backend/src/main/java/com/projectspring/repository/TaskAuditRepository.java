@@ -0,0 +1,84 @@
+package com.projectspring.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JDBC access to task_audit_outbox. Task writes append one row per audited action; the
+ * background writer turns batches of them into task_logs and task_status_history rows.
+ */
+@Repository
+public class TaskAuditRepository {
+
+    // One statement per batch: take the oldest entries (replicas skip each other's locked rows),
+    // delete them and insert their log and status history rows. Entries of tasks deleted in the
+    // meantime keep their log row without a task reference, like the logs the delete left behind;
+    // their status history would have been deleted with the task, so it is not written.
+    private static final String EXPAND_BATCH_SQL =
+        "WITH batch AS (" +
+        "  SELECT id FROM task_audit_outbox ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED" +
+        "), claimed AS (" +
+        "  DELETE FROM task_audit_outbox o USING batch b WHERE o.id = b.id RETURNING o.*" +
+        "), logs AS (" +
+        "  INSERT INTO task_logs (task_id, task_title, action, old_value, new_value, changed_by, change_reason, created_at) " +
+        "  SELECT t.id, c.task_title, c.action, c.old_value, c.new_value, c.changed_by, c.change_reason, c.created_at " +
+        "  FROM claimed c LEFT JOIN tasks t ON t.id = c.task_id ORDER BY c.id" +
+        "), history AS (" +
+        "  INSERT INTO task_status_history (task_id, old_status, new_status, changed_by, change_reason, postponed_to_date, created_at) " +
+        "  SELECT c.task_id, c.old_status, c.new_status, c.changed_by, c.change_reason, c.postponed_to_date, c.created_at " +
+        "  FROM claimed c JOIN tasks t ON t.id = c.task_id WHERE c.new_status IS NOT NULL ORDER BY c.id" +
+        ") " +
+        "SELECT count(*) FROM claimed";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Appends an audit entry in the caller's transaction. With {@code newStatus} set the entry
+     * also becomes a task_status_history row.
+     */
+    public void append(Long taskId, String taskTitle, String action, String oldValue, String newValue,
+                       Long changedBy, String changeReason, String oldStatus, String newStatus,
+                       LocalDate postponedToDate, LocalDateTime createdAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("taskId", taskId)
+            .addValue("taskTitle", taskTitle)
+            .addValue("action", action)
+            .addValue("oldValue", oldValue)
+            .addValue("newValue", newValue)
+            .addValue("changedBy", changedBy)
+            .addValue("changeReason", changeReason)
+            .addValue("oldStatus", oldStatus)
+            .addValue("newStatus", newStatus)
+            .addValue("postponedToDate", postponedToDate)
+            .addValue("createdAt", createdAt);
+        namedParameterJdbcTemplate.update(
+            "INSERT INTO task_audit_outbox (task_id, task_title, action, old_value, new_value, changed_by, " +
+            "change_reason, old_status, new_status, postponed_to_date, created_at) " +
+            "VALUES (:taskId, :taskTitle, :action, :oldValue, :newValue, :changedBy, " +
+            ":changeReason, :oldStatus, :newStatus, :postponedToDate, :createdAt)",
+            params);
+    }
+
+    /**
+     * Expands up to {@code batchSize} of the oldest entries into task_logs and task_status_history
+     * and returns how many were taken. Fewer than {@code batchSize} means the outbox is drained
+     * (or the rest is locked by another replica).
+     */
+    public int expandBatch(int batchSize) {
+        Long expanded = namedParameterJdbcTemplate.queryForObject(EXPAND_BATCH_SQL,
+            new MapSqlParameterSource("batchSize", batchSize), Long.class);
+        return expanded == null ? 0 : expanded.intValue();
+    }
+
+    public long countPending() {
+        Long pending = namedParameterJdbcTemplate.queryForObject("SELECT count(*) FROM task_audit_outbox",
+            new MapSqlParameterSource(), Long.class);
+        return pending == null ? 0 : pending;
+    }
+}
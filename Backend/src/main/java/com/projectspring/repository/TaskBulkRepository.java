@@ -0,0 +1,154 @@
+package com.projectspring.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based JDBC access to the tasks table for the overdue sweep and the deadline scheduler,
+ * which would otherwise load and save one Task entity (plus its history and log rows) at a time.
+ */
+@Repository
+public class TaskBulkRepository {
+
+    private static final String OPEN_STATUS_FILTER = "status NOT IN ('COMPLETED', 'CANCELLED', 'TESTING', 'OVERDUE')";
+
+    // One statement per batch: lock the candidates, flip them to OVERDUE and write the matching
+    // status history and task log rows from the UPDATE's RETURNING set, which is also returned
+    private static final String MARK_OVERDUE_SQL =
+        "WITH batch AS (" +
+        "  SELECT id, status FROM tasks " +
+        "  WHERE end_date < :today AND " + OPEN_STATUS_FILTER + " %s " +
+        "  ORDER BY id LIMIT :batchSize " +
+        // Rows a user is editing right now are left for the next batch or run
+        "  FOR UPDATE SKIP LOCKED" +
+        "), updated AS (" +
+        "  UPDATE tasks t SET status = 'OVERDUE', updated_at = now() " +
+        "  FROM batch b WHERE t.id = b.id " +
+        "  RETURNING t.id, t.title, t.team_id, t.end_date, b.status AS old_status" +
+        "), history AS (" +
+        "  INSERT INTO task_status_history (task_id, old_status, new_status, changed_by, change_reason, created_at) " +
+        "  SELECT id, old_status, 'OVERDUE', :changedBy, :reason, now() FROM updated" +
+        "), logs AS (" +
+        // Same JSON string encoding TaskLogService uses for STATUS_CHANGED values
+        "  INSERT INTO task_logs (task_id, task_title, action, old_value, new_value, changed_by, change_reason, created_at) " +
+        "  SELECT id, title, 'STATUS_CHANGED', to_json(old_status)::text, to_json('OVERDUE'::text)::text, " +
+        "         :changedBy, :reason, now() FROM updated" +
+        ") " +
+        "SELECT id, title, team_id, end_date FROM updated";
+
+    // Sharded by team so replicas can sweep disjoint sets of tasks in parallel
+    private static final String MARK_OVERDUE_BATCH_SQL = String.format(MARK_OVERDUE_SQL, "AND team_id % :shardCount = :shard");
+
+    private static final String MARK_OVERDUE_BY_ID_SQL = String.format(MARK_OVERDUE_SQL, "AND id IN (:ids)");
+
+    // A warning already recorded for the same end date is left untouched and not returned;
+    // a moved end date overwrites it, so the new deadline is warned about again
+    private static final String CLAIM_DEADLINE_WARNINGS_SQL =
+        "WITH due AS (" +
+        "  SELECT id, title, team_id, end_date FROM tasks " +
+        "  WHERE id IN (:ids) AND end_date = :endDate AND " + OPEN_STATUS_FILTER +
+        "), claimed AS (" +
+        "  INSERT INTO task_deadline_warnings (task_id, end_date, warned_at) " +
+        "  SELECT id, end_date, now() FROM due " +
+        "  ON CONFLICT (task_id) DO UPDATE SET end_date = EXCLUDED.end_date, warned_at = EXCLUDED.warned_at " +
+        "  WHERE task_deadline_warnings.end_date <> EXCLUDED.end_date " +
+        "  RETURNING task_id" +
+        ") " +
+        "SELECT d.id, d.title, d.team_id, d.end_date FROM due d JOIN claimed c ON c.task_id = d.id";
+
+    private static final RowMapper<TaskDeadline> TASK_DEADLINE_MAPPER = (rs, rowNum) -> new TaskDeadline(
+        rs.getLong("id"),
+        rs.getString("title"),
+        rs.getLong("team_id"),
+        rs.getObject("end_date", LocalDate.class)
+    );
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Marks up to {@code batchSize} tasks of the shard ({@code team_id % shardCount = shard}) that
+     * ended before {@code today} and are still open as OVERDUE, with their status history and task
+     * log rows, and returns the tasks marked. Fewer than {@code batchSize} means no unlocked
+     * candidates are left.
+     */
+    public List<TaskDeadline> markOverdueBatch(LocalDate today, Long changedBy, String reason, int batchSize,
+                                int shard, int shardCount) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("today", today)
+            .addValue("batchSize", batchSize)
+            .addValue("shard", shard)
+            .addValue("shardCount", shardCount)
+            .addValue("changedBy", changedBy)
+            .addValue("reason", reason);
+        return namedParameterJdbcTemplate.query(MARK_OVERDUE_BATCH_SQL, params, TASK_DEADLINE_MAPPER);
+    }
+
+    /**
+     * Same as {@link #markOverdueBatch} for the given tasks only; tasks that are no longer open
+     * or not yet past their end date are left alone. Returns the tasks that were marked.
+     */
+    public List<TaskDeadline> markOverdue(Collection<Long> taskIds, LocalDate today, Long changedBy, String reason) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", taskIds)
+            .addValue("today", today)
+            .addValue("batchSize", taskIds.size())
+            .addValue("changedBy", changedBy)
+            .addValue("reason", reason);
+        return namedParameterJdbcTemplate.query(MARK_OVERDUE_BY_ID_SQL, params, TASK_DEADLINE_MAPPER);
+    }
+
+    /**
+     * Loads the open tasks that end before {@code until}, earliest first, for the deadline scheduler.
+     */
+    public List<TaskDeadline> findOpenDeadlines(LocalDate until, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("until", until)
+            .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(
+            "SELECT id, title, team_id, end_date FROM tasks WHERE end_date < :until AND " + OPEN_STATUS_FILTER +
+            " ORDER BY end_date, id LIMIT :limit",
+            params, TASK_DEADLINE_MAPPER);
+    }
+
+    /**
+     * Claims the "deadline approaching" warning for the given tasks that are still open and end on
+     * {@code endDate}, and returns the ones claimed. A task's warning is recorded per end date in
+     * task_deadline_warnings, so when several replicas fire the same deadline only the first one
+     * gets the task back; the others block on its row until it commits and then claim nothing.
+     */
+    public List<TaskDeadline> claimDeadlineWarnings(Collection<Long> taskIds, LocalDate endDate) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", taskIds)
+            .addValue("endDate", endDate);
+        return namedParameterJdbcTemplate.query(CLAIM_DEADLINE_WARNINGS_SQL, params, TASK_DEADLINE_MAPPER);
+    }
+
+    /**
+     * Reloads the given tasks that are still open, whatever their end date.
+     */
+    public List<TaskDeadline> findOpenDeadlines(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(
+            "SELECT id, title, team_id, end_date FROM tasks WHERE id IN (:ids) AND " + OPEN_STATUS_FILTER,
+            new MapSqlParameterSource("ids", taskIds), TASK_DEADLINE_MAPPER);
+    }
+
+    public record TaskDeadline(Long id, String title, Long teamId, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,247 @@
+package com.projectspring.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectspring.dto.SparseTaskDTO;
+import com.projectspring.dto.SubtaskDTO;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.dto.TaskField;
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.model.enums.TaskType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to task_read_model, the flattened task list projection that database triggers keep
+ * in step with tasks, task_assignees, subtasks, teams, projects and users. List reads are a
+ * single-table scan of the (team_id, start_date) or (project_id, start_date) index that reads
+ * only the columns of the requested fields.
+ */
+@Repository
+public class TaskReadModelRepository {
+
+    private static final TypeReference<List<SubtaskDTO>> SUBTASK_LIST = new TypeReference<>() {
+    };
+
+    // Refreshes the next batch of tasks in id order; last_id is null once all tasks were visited
+    private static final String REFRESH_BATCH_SQL =
+        "WITH ids AS (SELECT id FROM tasks WHERE id > :afterId ORDER BY id LIMIT :batchSize) " +
+        "SELECT max(id) AS last_id, refresh_task_read_model(array_agg(id)) AS refreshed FROM ids";
+
+    // Compares the next batch with its source projection (by column name, so the order of the
+    // columns does not matter) and refreshes the rows that are missing or differ
+    private static final String REPAIR_BATCH_SQL =
+        "WITH ids AS (" +
+        "  SELECT id FROM tasks WHERE id > :afterId ORDER BY id LIMIT :batchSize" +
+        "), drifted AS (" +
+        "  SELECT s.task_id FROM ids " +
+        "  JOIN task_read_model_source s ON s.task_id = ids.id " +
+        "  LEFT JOIN task_read_model r ON r.task_id = ids.id " +
+        "  WHERE r.task_id IS NULL OR to_jsonb(r) IS DISTINCT FROM to_jsonb(s)" +
+        ") " +
+        "SELECT (SELECT max(id) FROM ids) AS last_id, " +
+        "       refresh_task_read_model(ARRAY(SELECT task_id FROM drifted)) AS repaired";
+
+    // Same comparison for tasks written at least :delaySeconds ago. SKIP LOCKED leaves out the
+    // tasks of transactions still open (and of other replicas' repair passes); checked entries
+    // are deleted
+    private static final String REPAIR_DIRTY_BATCH_SQL =
+        "WITH ids AS (" +
+        "  SELECT task_id AS id FROM task_read_model_dirty " +
+        "  WHERE marked_at < clock_timestamp() - make_interval(secs => :delaySeconds) " +
+        "  ORDER BY task_id LIMIT :batchSize FOR UPDATE SKIP LOCKED" +
+        "), drifted AS (" +
+        "  SELECT s.task_id FROM ids " +
+        "  JOIN task_read_model_source s ON s.task_id = ids.id " +
+        "  LEFT JOIN task_read_model r ON r.task_id = ids.id " +
+        "  WHERE r.task_id IS NULL OR to_jsonb(r) IS DISTINCT FROM to_jsonb(s)" +
+        "), cleared AS (" +
+        "  DELETE FROM task_read_model_dirty d USING ids WHERE d.task_id = ids.id" +
+        ") " +
+        "SELECT (SELECT count(*) FROM ids) AS checked, " +
+        "       refresh_task_read_model(ARRAY(SELECT task_id FROM drifted)) AS repaired";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns the tasks matching all given filters, ordered by start date and id. Null filters are
+     * not applied; an empty {@code teamIds} matches nothing. {@code startFrom} is inclusive,
+     * {@code startBefore} exclusive and {@code endTo} inclusive. Only the id and the given
+     * {@code fields} are read and set; the other properties of the returned DTOs stay null.
+     */
+    public List<TaskDTO> findTasks(Collection<Long> teamIds, Long projectId, LocalDate startFrom,
+                                   LocalDate startBefore, LocalDate endTo, Set<TaskField> fields) {
+        if (teamIds != null && teamIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder();
+        if (teamIds != null) {
+            where.append(" AND team_id IN (:teamIds)");
+            params.addValue("teamIds", teamIds);
+        }
+        if (projectId != null) {
+            where.append(" AND project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        if (startFrom != null) {
+            where.append(" AND start_date >= :startFrom");
+            params.addValue("startFrom", startFrom);
+        }
+        if (startBefore != null) {
+            where.append(" AND start_date < :startBefore");
+            params.addValue("startBefore", startBefore);
+        }
+        if (endTo != null) {
+            where.append(" AND end_date <= :endTo");
+            params.addValue("endTo", endTo);
+        }
+        // Unselected columns are never read, so a summary list does not fetch content or subtasks
+        String columns = fields.stream().map(TaskReadModelRepository::column).collect(Collectors.joining(", "));
+        return namedParameterJdbcTemplate.query(
+            "SELECT task_id" + (columns.isEmpty() ? "" : ", " + columns) + " FROM task_read_model " +
+            "WHERE true" + where + " ORDER BY start_date, task_id",
+            params, (rs, rowNum) -> toDTO(rs, fields));
+    }
+
+    /**
+     * Rebuilds the rows of up to {@code batchSize} tasks after {@code afterId} from their source
+     * tables. The result's last id is null when no tasks were left.
+     */
+    public BatchResult refreshBatch(long afterId, int batchSize) {
+        return namedParameterJdbcTemplate.queryForObject(REFRESH_BATCH_SQL, batchParams(afterId, batchSize),
+            (rs, rowNum) -> new BatchResult((Long) rs.getObject("last_id"), rs.getInt("refreshed")));
+    }
+
+    /**
+     * Checks the rows of up to {@code batchSize} tasks after {@code afterId} against their source
+     * tables and refreshes the ones that are missing or stale.
+     */
+    public BatchResult repairBatch(long afterId, int batchSize) {
+        return namedParameterJdbcTemplate.queryForObject(REPAIR_BATCH_SQL, batchParams(afterId, batchSize),
+            (rs, rowNum) -> new BatchResult((Long) rs.getObject("last_id"), rs.getInt("repaired")));
+    }
+
+    /**
+     * Checks up to {@code batchSize} recently written tasks (task_read_model_dirty entries older
+     * than {@code delaySeconds}) against their source tables, refreshes the stale ones and removes
+     * the entries.
+     */
+    public RepairResult repairDirtyBatch(int delaySeconds, int batchSize) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("delaySeconds", delaySeconds)
+            .addValue("batchSize", batchSize);
+        return namedParameterJdbcTemplate.queryForObject(REPAIR_DIRTY_BATCH_SQL, params,
+            (rs, rowNum) -> new RepairResult(rs.getInt("checked"), rs.getInt("repaired")));
+    }
+
+    private static MapSqlParameterSource batchParams(long afterId, int batchSize) {
+        return new MapSqlParameterSource()
+            .addValue("afterId", afterId)
+            .addValue("batchSize", batchSize);
+    }
+
+    private static String column(TaskField field) {
+        return switch (field) {
+            case TITLE -> "title";
+            case CONTENT -> "content";
+            case START_DATE -> "start_date";
+            case END_DATE -> "end_date";
+            case STATUS -> "status";
+            case TASK_TYPE -> "task_type";
+            case PRIORITY -> "priority";
+            case TEAM_ID -> "team_id";
+            case TEAM_NAME -> "team_name";
+            case TEAM_COLOR -> "team_color";
+            case TEAM_ICON -> "team_icon";
+            case PROJECT_ID -> "project_id";
+            case PROJECT_NAME -> "project_name";
+            case CREATED_BY_ID -> "created_by";
+            case CREATED_BY_NAME -> "created_by_name";
+            case ASSIGNEE_IDS -> "assignee_ids";
+            case ASSIGNEE_NAMES -> "assignee_names";
+            case SUBTASKS -> "subtasks";
+            case POSTPONED_TO_DATE -> "postponed_to_date";
+            case POSTPONED_FROM_DATE -> "postponed_from_date";
+            case IS_POSTPONED -> "is_postponed";
+        };
+    }
+
+    private TaskDTO toDTO(ResultSet rs, Set<TaskField> fields) throws SQLException {
+        TaskDTO dto = fields.size() == TaskField.values().length ? new TaskDTO() : new SparseTaskDTO();
+        dto.setId(rs.getLong("task_id"));
+        for (TaskField field : fields) {
+            switch (field) {
+                case TITLE -> dto.setTitle(rs.getString("title"));
+                case CONTENT -> dto.setContent(rs.getString("content"));
+                case START_DATE -> dto.setStartDate(rs.getObject("start_date", LocalDate.class));
+                case END_DATE -> dto.setEndDate(rs.getObject("end_date", LocalDate.class));
+                case STATUS -> dto.setStatus(TaskStatus.valueOf(rs.getString("status")));
+                case TASK_TYPE -> dto.setTaskType(
+                    rs.getString("task_type") != null ? TaskType.valueOf(rs.getString("task_type")) : null);
+                case PRIORITY -> dto.setPriority(
+                    rs.getString("priority") != null ? Priority.valueOf(rs.getString("priority")) : null);
+                case TEAM_ID -> dto.setTeamId(rs.getLong("team_id"));
+                case TEAM_NAME -> dto.setTeamName(rs.getString("team_name"));
+                case TEAM_COLOR -> dto.setTeamColor(rs.getString("team_color"));
+                case TEAM_ICON -> dto.setTeamIcon(rs.getString("team_icon"));
+                case PROJECT_ID -> dto.setProjectId((Long) rs.getObject("project_id"));
+                case PROJECT_NAME -> dto.setProjectName(rs.getString("project_name"));
+                case CREATED_BY_ID -> dto.setCreatedById((Long) rs.getObject("created_by"));
+                case CREATED_BY_NAME -> dto.setCreatedByName(rs.getString("created_by_name"));
+                case ASSIGNEE_IDS -> dto.setAssigneeIds(new LinkedHashSet<>(toList(rs.getArray("assignee_ids"), Long.class)));
+                case ASSIGNEE_NAMES -> dto.setAssigneeNames(toList(rs.getArray("assignee_names"), String.class));
+                case SUBTASKS -> dto.setSubtasks(toSubtasks(rs.getString("subtasks")));
+                case POSTPONED_TO_DATE -> dto.setPostponedToDate(rs.getObject("postponed_to_date", LocalDate.class));
+                case POSTPONED_FROM_DATE -> dto.setPostponedFromDate(rs.getObject("postponed_from_date", LocalDate.class));
+                case IS_POSTPONED -> dto.setIsPostponed((Boolean) rs.getObject("is_postponed"));
+            }
+        }
+        return dto;
+    }
+
+    private List<SubtaskDTO> toSubtasks(String json) throws SQLException {
+        if (json == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(json, SUBTASK_LIST);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable subtasks in task_read_model: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static <T> List<T> toList(Array array, Class<T> type) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream((Object[]) array.getArray()).map(type::cast).collect(Collectors.toList());
+    }
+
+    /** Last task id of a batch (null when no tasks were left) and the rows it wrote. */
+    public record BatchResult(Long lastId, int rows) {
+    }
+
+    public record RepairResult(int checked, int repaired) {
+    }
+}
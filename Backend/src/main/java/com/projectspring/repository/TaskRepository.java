@@ -47,11 +47,10 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                         @Param("startDate") LocalDate startDate, 
                                         @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
-    Long countByProjectId(@Param("projectId") Long projectId);
-    
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
-    Long countByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
+    // Per status: task count and how many of them ended before :today
+    @Query("SELECT t.status, COUNT(t), SUM(CASE WHEN t.endDate < :today THEN 1 ELSE 0 END) " +
+           "FROM Task t WHERE t.project.id = :projectId GROUP BY t.status")
+    List<Object[]> countByProjectIdGroupByStatus(@Param("projectId") Long projectId, @Param("today") LocalDate today);
     
     @Query("SELECT t FROM Task t WHERE t.project.id = :projectId")
     List<Task> findByProjectId(@Param("projectId") Long projectId);
@@ -0,0 +1,145 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.TaskSearchHitDTO;
+import com.projectspring.model.enums.Priority;
+import com.projectspring.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text task search over the generated search_vector columns of tasks (title, content) and
+ * subtasks (title). Both GIN indexes are probed with the team filter in the same query, matches
+ * are ranked with ts_rank_cd, and highlights are built only for the rows of the requested page.
+ */
+@Repository
+public class TaskSearchRepository {
+
+    // ts_headline markers, replaced with <mark> tags after the text is HTML-escaped
+    private static final String START_SEL = "⟦";
+    private static final String STOP_SEL = "⟧";
+    private static final String TITLE_HEADLINE_OPTIONS = "HighlightAll=true, StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+    private static final String CONTENT_HEADLINE_OPTIONS =
+        "MaxFragments=2, MaxWords=25, MinWords=10, FragmentDelimiter=\" … \", StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+
+    // Stemmed (Turkish) or exact (simple) forms of all words; the vectors hold both
+    private static final String SEARCH_SQL =
+        "WITH query AS (" +
+        "  SELECT websearch_to_tsquery('turkish', :q) || websearch_to_tsquery('simple', :q) AS q" +
+        "), matches AS (" +
+        "  SELECT t.id, ts_rank_cd(t.search_vector, query.q) AS task_rank, CAST(0 AS REAL) AS subtask_rank " +
+        "  FROM tasks t, query WHERE t.search_vector @@ query.q AND t.team_id IN (:teamIds) %1$s" +
+        "  UNION ALL " +
+        "  SELECT t.id, CAST(0 AS REAL), ts_rank_cd(s.search_vector, query.q) " +
+        "  FROM subtasks s JOIN tasks t ON t.id = s.task_id, query " +
+        "  WHERE s.search_vector @@ query.q AND t.team_id IN (:teamIds) %1$s" +
+        "), ranked AS (" +
+        // Subtask matches count half as much as a match in the task itself
+        "  SELECT id, CAST(max(task_rank) + 0.5 * max(subtask_rank) AS REAL) AS rank FROM matches GROUP BY id" +
+        "), page AS (" +
+        "  SELECT id, rank FROM ranked WHERE true %2$s ORDER BY rank DESC, id DESC LIMIT :limit" +
+        ") " +
+        "SELECT t.id, t.title, t.status, t.priority, t.end_date, t.team_id, tm.name AS team_name, tm.color AS team_color, " +
+        "       t.project_id, p.name AS project_name, page.rank, " +
+        "       ts_headline('turkish', t.title, query.q, :titleOptions) AS title_highlight, " +
+        "       CASE WHEN coalesce(t.content, '') = '' THEN NULL " +
+        "            ELSE ts_headline('turkish', left(t.content, 100000), query.q, :contentOptions) END AS content_highlight, " +
+        "       (SELECT array_agg(ts_headline('turkish', s.title, query.q, :titleOptions) ORDER BY s.id) " +
+        "        FROM subtasks s WHERE s.task_id = t.id AND s.search_vector @@ query.q) AS subtask_highlights " +
+        "FROM page " +
+        "JOIN tasks t ON t.id = page.id " +
+        "JOIN teams tm ON tm.id = t.team_id " +
+        "LEFT JOIN projects p ON p.id = t.project_id " +
+        "CROSS JOIN query " +
+        "ORDER BY page.rank DESC, page.id DESC";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} tasks of the given teams matching {@code query} (web search
+     * syntax: words, "quoted phrases", -excluded, or), best match first, starting after
+     * ({@code afterRank}, {@code afterId}) when given.
+     */
+    public List<TaskSearchHitDTO> search(String query, Collection<Long> teamIds, Collection<TaskStatus> statuses,
+                                         Long projectId, Float afterRank, Long afterId, int limit) {
+        if (teamIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("q", query)
+            .addValue("teamIds", teamIds)
+            .addValue("limit", limit)
+            .addValue("titleOptions", TITLE_HEADLINE_OPTIONS)
+            .addValue("contentOptions", CONTENT_HEADLINE_OPTIONS);
+
+        StringBuilder filters = new StringBuilder();
+        if (statuses != null && !statuses.isEmpty()) {
+            filters.append(" AND t.status IN (:statuses)");
+            params.addValue("statuses", statuses.stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        if (projectId != null) {
+            filters.append(" AND t.project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        String after = "";
+        if (afterRank != null && afterId != null) {
+            after = " AND (rank, id) < (CAST(:afterRank AS REAL), :afterId)";
+            params.addValue("afterRank", afterRank);
+            params.addValue("afterId", afterId);
+        }
+
+        String sql = String.format(SEARCH_SQL, filters, after);
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> toDTO(rs));
+    }
+
+    private static TaskSearchHitDTO toDTO(ResultSet rs) throws SQLException {
+        TaskSearchHitDTO dto = new TaskSearchHitDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setTitle(rs.getString("title"));
+        dto.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        dto.setPriority(Priority.valueOf(rs.getString("priority")));
+        dto.setEndDate(rs.getObject("end_date", LocalDate.class));
+        dto.setTeamId(rs.getLong("team_id"));
+        dto.setTeamName(rs.getString("team_name"));
+        dto.setTeamColor(rs.getString("team_color"));
+        dto.setProjectId((Long) rs.getObject("project_id"));
+        dto.setProjectName(rs.getString("project_name"));
+        dto.setRank(rs.getFloat("rank"));
+        dto.setTitleHighlight(toHtml(rs.getString("title_highlight")));
+        dto.setContentHighlight(toHtml(rs.getString("content_highlight")));
+        dto.setSubtaskHighlights(toList(rs.getArray("subtask_highlights")).stream()
+            .map(TaskSearchRepository::toHtml)
+            .collect(Collectors.toList()));
+        return dto;
+    }
+
+    // Task text is user input: escape it, then turn the markers into the only tags in the result
+    private static String toHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, "UTF-8")
+            .replace(START_SEL, "<mark>")
+            .replace(STOP_SEL, "</mark>");
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream((Object[]) array.getArray()).map(String.class::cast).collect(Collectors.toList());
+    }
+}
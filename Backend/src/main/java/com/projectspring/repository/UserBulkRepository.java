@@ -0,0 +1,183 @@
+package com.projectspring.repository;
+
+import com.projectspring.dto.LdapUserDTO;
+import com.projectspring.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based JDBC access to the users table for directory sync and bulk imports,
+ * where loading and saving one User entity at a time is too slow. Writes bypass Hibernate,
+ * so each one evicts the cached users (second-level cache).
+ */
+@Repository
+public class UserBulkRepository {
+
+    private static final String UPSERT_LDAP_USER_SQL =
+        "INSERT INTO users (username, email, full_name, ldap_dn, password, is_active, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, NULL, TRUE, now(), now()) " +
+        "ON CONFLICT (username) DO UPDATE SET " +
+        "email = EXCLUDED.email, full_name = EXCLUDED.full_name, ldap_dn = EXCLUDED.ldap_dn, updated_at = now() " +
+        // Never overwrite local (password) accounts, and skip no-op updates
+        "WHERE users.password IS NULL " +
+        "AND (users.email, users.full_name, users.ldap_dn) IS DISTINCT FROM (EXCLUDED.email, EXCLUDED.full_name, EXCLUDED.ldap_dn)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    /**
+     * Loads the identity columns of every user matching one of the usernames or e-mails in a single query.
+     */
+    public List<UserIdentity> findIdentities(Collection<String> usernames, Collection<String> emails) {
+        return findIdentities(usernames, emails, List.of());
+    }
+
+    /**
+     * Loads the identity columns of every user matching one of the usernames, e-mails or LDAP DNs in a single query.
+     */
+    public List<UserIdentity> findIdentities(Collection<String> usernames, Collection<String> emails,
+                                             Collection<String> ldapDns) {
+        if (usernames.isEmpty() && emails.isEmpty() && ldapDns.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            // IN () is invalid SQL, so pass a value that cannot match when a list is empty
+            .addValue("usernames", usernames.isEmpty() ? List.of("") : usernames)
+            .addValue("emails", emails.isEmpty() ? List.of("") : emails)
+            .addValue("ldapDns", ldapDns.isEmpty() ? List.of("") : ldapDns);
+        return namedParameterJdbcTemplate.query(
+            "SELECT id, username, email, full_name, ldap_dn, password IS NOT NULL AS local_user, is_active " +
+            "FROM users WHERE username IN (:usernames) OR email IN (:emails) OR ldap_dn IN (:ldapDns)",
+            params,
+            (rs, rowNum) -> new UserIdentity(
+                rs.getLong("id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("full_name"),
+                rs.getString("ldap_dn"),
+                rs.getBoolean("local_user"),
+                rs.getBoolean("is_active")
+            )
+        );
+    }
+
+    /**
+     * Inserts new directory users and updates name/e-mail/DN of existing LDAP users with one JDBC batch.
+     * Existing users keep their is_active flag and roles.
+     */
+    public void upsertLdapUsers(List<LdapUserDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_LDAP_USER_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getFullName());
+            ps.setString(4, user.getLdapDn());
+        });
+        entityCacheService.evictUsers();
+    }
+
+    /**
+     * Inserts new LDAP users (no password, active) with one JDBC batch.
+     */
+    public void insertLdapUsers(List<LdapUserDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (username, email, full_name, ldap_dn, password, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, NULL, TRUE, now(), now())",
+            users, users.size(), (ps, user) -> {
+                ps.setString(1, user.getUsername());
+                ps.setString(2, user.getEmail());
+                ps.setString(3, user.getFullName());
+                ps.setString(4, user.getLdapDn());
+            });
+        entityCacheService.evictUsers();
+    }
+
+    /**
+     * Reactivates soft-deleted users with fresh directory data, keyed by user id, with one JDBC batch.
+     */
+    public void reactivateLdapUsers(Map<Long, LdapUserDTO> usersById) {
+        if (usersById.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LdapUserDTO>> rows = List.copyOf(usersById.entrySet());
+        jdbcTemplate.batchUpdate(
+            "UPDATE users SET username = ?, email = ?, full_name = ?, ldap_dn = ?, password = NULL, " +
+            "is_active = TRUE, updated_at = now() WHERE id = ?",
+            rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.getValue().getUsername());
+                ps.setString(2, row.getValue().getEmail());
+                ps.setString(3, row.getValue().getFullName());
+                ps.setString(4, row.getValue().getLdapDn());
+                ps.setLong(5, row.getKey());
+            });
+        entityCacheService.evictUsers();
+    }
+
+    /**
+     * Replaces the roles of the given users with the given role ids using two set-based statements.
+     */
+    public void replaceRoles(Collection<String> usernames, Collection<Long> roleIds) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("usernames", usernames)
+            .addValue("roleIds", roleIds);
+        namedParameterJdbcTemplate.update(
+            "DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE username IN (:usernames))",
+            params
+        );
+        namedParameterJdbcTemplate.update(
+            "INSERT INTO user_roles (user_id, role_id) " +
+            "SELECT u.id, r.id FROM users u JOIN roles r ON r.id IN (:roleIds) " +
+            "WHERE u.username IN (:usernames)",
+            params
+        );
+        entityCacheService.evictUsers();
+    }
+
+    /**
+     * Gives the named role to those of the given users that have no role at all (newly created users).
+     */
+    public int assignRoleToUsersWithoutRoles(Collection<String> usernames, String roleName) {
+        if (usernames.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("usernames", usernames)
+            .addValue("roleName", roleName);
+        int assigned = namedParameterJdbcTemplate.update(
+            "INSERT INTO user_roles (user_id, role_id) " +
+            "SELECT u.id, r.id FROM users u JOIN roles r ON r.name = :roleName " +
+            "WHERE u.username IN (:usernames) " +
+            "AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id)",
+            params
+        );
+        if (assigned > 0) {
+            entityCacheService.evictUsers();
+        }
+        return assigned;
+    }
+
+    public record UserIdentity(Long id, String username, String email, String fullName, String ldapDn,
+                               boolean localUser, boolean active) {
+    }
+}
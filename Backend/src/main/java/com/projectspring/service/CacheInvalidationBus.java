@@ -0,0 +1,331 @@
+package com.projectspring.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Tells the other backend replicas which cached data a committed write changed, so they can drop
+ * their copies. Writers publish (topic, ids) pairs; after the transaction commits they are sent
+ * with pg_notify on one channel, and a listener thread on every replica hands them to the
+ * handlers subscribed to the topic. A replica ignores its own notifications: the writing node
+ * keeps its caches consistent locally.
+ *
+ * Notifications are not durable. Whenever the listener connection drops, every handler is called
+ * with an empty id set ("everything") after it reconnects, since whatever was sent in between is
+ * lost. The cache TTLs still bound staleness if the bus is disabled or the database is unreachable.
+ */
+@Service
+public class CacheInvalidationBus implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    // A NOTIFY payload must be shorter than 8000 bytes. Ours is "origin|topic|id,id,..." in ASCII:
+    // 8 + 1 + at most MAX_TOPIC_LENGTH + 1 bytes, then at most 20 bytes per id (Long.MIN_VALUE)
+    // plus a comma, so MAX_IDS_PER_TOPIC ids (370) always fit. Larger id sets are sent as "everything".
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final int ORIGIN_LENGTH = 8;
+    private static final int MAX_TOPIC_LENGTH = 200;
+    private static final int MAX_ID_LENGTH = String.valueOf(Long.MIN_VALUE).length();
+    private static final int MAX_IDS_PER_TOPIC =
+        (MAX_PAYLOAD_BYTES - ORIGIN_LENGTH - 2 - MAX_TOPIC_LENGTH + 1) / (MAX_ID_LENGTH + 1);
+    private static final String ALL = "*";
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long HEARTBEAT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = TimeUnit.SECONDS.toMillis(30);
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    private final String origin = UUID.randomUUID().toString().substring(0, ORIGIN_LENGTH);
+
+    private final Map<String, List<Consumer<Set<Long>>>> handlers = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection listenerConnection;
+    private Thread listener;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        Gauge.builder("app.cache.invalidation.connected", this, bus -> bus.connected ? 1 : 0)
+            .description("Whether this replica is listening for cache invalidations of other replicas")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled) {
+            logger.info("Cache invalidation bus is disabled; replicas rely on cache TTLs only");
+            return;
+        }
+        if (listener != null) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Calls the handler with the ids other replicas changed for this topic; an empty set means
+     * everything in the topic may have changed.
+     */
+    public void subscribe(String topic, Consumer<Set<Long>> handler) {
+        checkTopic(topic);
+        handlers.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Announces that the given ids of the topic changed, once the current transaction commits
+     * (right away outside a transaction). Publications of one transaction are merged.
+     */
+    public void publish(String topic, Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        checkTopic(topic);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInvalidations().add(topic, ids);
+        } else {
+            PendingInvalidations pending = new PendingInvalidations();
+            pending.add(topic, ids);
+            send(pending.topics);
+        }
+    }
+
+    public void publishAll(String topic) {
+        publish(topic, null);
+    }
+
+    // Topics are class names, collection roles and constants; the length bound keeps payloads in
+    // the NOTIFY limit and '|' would break parsing
+    private static void checkTopic(String topic) {
+        if (topic.length() > MAX_TOPIC_LENGTH || topic.contains("|")
+            || !StandardCharsets.US_ASCII.newEncoder().canEncode(topic)) {
+            throw new IllegalArgumentException("Invalid cache invalidation topic: " + topic);
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // One pending set per transaction; synchronizations are suspended with their transaction,
+    // so a REQUIRES_NEW transaction gets its own
+    private PendingInvalidations pendingInvalidations() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending) {
+                return pending;
+            }
+        }
+        PendingInvalidations pending = new PendingInvalidations();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void send(Map<String, Set<Long>> topics) {
+        if (topics.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> topics.forEach((topic, ids) -> {
+            String payload = origin + "|" + topic + "|" + (ids == null ? ALL :
+                ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            try {
+                namedParameterJdbcTemplate.queryForList("SELECT pg_notify(:channel, :payload)",
+                    new MapSqlParameterSource().addValue("channel", CHANNEL).addValue("payload", payload));
+                meterRegistry.counter("app.cache.invalidation.sent").increment();
+            } catch (RuntimeException e) {
+                // Other replicas catch up when their cache entries expire
+                meterRegistry.counter("app.cache.invalidation.send.failures").increment();
+                logger.warn("Could not publish cache invalidation for {}: {}", topic, e.getMessage());
+            }
+        }));
+    }
+
+    private void listen() {
+        long reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connected = true;
+                reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+                if (missedNotifications) {
+                    logger.info("Cache invalidation listener reconnected; dropping all cached entries that may have changed meanwhile");
+                    meterRegistry.counter("app.cache.invalidation.reconnects").increment();
+                    handlers.keySet().forEach(topic -> dispatch(topic, Set.of()));
+                }
+                long lastActivity = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        Arrays.stream(notifications).forEach(notification -> receive(notification.getParameter()));
+                        lastActivity = System.currentTimeMillis();
+                    } else if (System.currentTimeMillis() - lastActivity >= HEARTBEAT_INTERVAL_MS) {
+                        // A dead connection does not fail the poll, it just never delivers anything
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastActivity = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Cache invalidation listener disconnected: {}; reconnecting in {} ms",
+                    e.getMessage(), reconnectDelayMs);
+            } finally {
+                connected = false;
+                listenerConnection = null;
+            }
+            missedNotifications = true;
+            try {
+                Thread.sleep(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+        }
+    }
+
+    // A connection of its own: LISTEN needs it for the lifetime of the listener, and holding one
+    // from the pool would take a connection (and a BoundedDataSource permit) away from requests
+    private Connection openListenerConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("ApplicationName", "projectspring-cache-invalidation");
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(HEARTBEAT_INTERVAL_MS * 2)));
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || origin.equals(parts[0])) {
+            return;
+        }
+        meterRegistry.counter("app.cache.invalidation.received").increment();
+        Set<Long> ids = ALL.equals(parts[2]) ? Set.of() : Arrays.stream(parts[2].split(","))
+            .filter(id -> !id.isEmpty())
+            .map(Long::valueOf)
+            .collect(Collectors.toSet());
+        dispatch(parts[1], ids);
+    }
+
+    private void dispatch(String topic, Set<Long> ids) {
+        for (Consumer<Set<Long>> handler : handlers.getOrDefault(topic, List.of())) {
+            try {
+                handler.accept(ids);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation handler for {} failed: {}", topic, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        Connection connection = listenerConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Closing cache invalidation listener connection failed: {}", e.getMessage());
+            }
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+        sender.shutdown();
+    }
+
+    // Topic -> changed ids, null meaning everything in the topic
+    private class PendingInvalidations implements TransactionSynchronization {
+
+        private final Map<String, Set<Long>> topics = new LinkedHashMap<>();
+
+        synchronized void add(String topic, Collection<Long> ids) {
+            if (topics.containsKey(topic) && topics.get(topic) == null) {
+                return;
+            }
+            if (ids == null) {
+                topics.put(topic, null);
+                return;
+            }
+            Set<Long> pending = topics.computeIfAbsent(topic, key -> new HashSet<>());
+            pending.addAll(ids);
+            if (pending.size() > MAX_IDS_PER_TOPIC) {
+                topics.put(topic, null);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            send(topics);
+        }
+    }
+}
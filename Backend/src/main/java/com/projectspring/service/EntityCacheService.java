@@ -0,0 +1,202 @@
+package com.projectspring.service;
+
+import com.projectspring.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Evicts second-level cache regions after writes Hibernate does not see (JDBC batches, COPY).
+ * Writes through JPA repositories keep the cache consistent on their own.
+ *
+ * Other replicas are told about every write to a cached entity or collection through
+ * CacheInvalidationBus (one topic per region, named after the entity or collection role) and
+ * evict the changed entries plus their cached query results.
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cache = sessionFactory.getCache();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache()) {
+                String entityName = persister.getEntityName();
+                cacheInvalidationBus.subscribe(entityName, ids -> evictRemoteChange(cache, ids,
+                    () -> cache.evictEntityData(entityName), id -> cache.evictEntityData(entityName, id)));
+            }
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(persister -> {
+            if (persister.hasCache()) {
+                String role = persister.getRole();
+                cacheInvalidationBus.subscribe(role, ids -> evictRemoteChange(cache, ids,
+                    () -> cache.evictCollectionData(role), ownerId -> cache.evictCollectionData(role, ownerId)));
+            }
+        });
+
+        ReplicaInvalidationListener listener = new ReplicaInvalidationListener(sessionFactory);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    /**
+     * Drops cached users, their role/team collections and all cached query results
+     * after a JDBC write to users, user_roles or user_teams.
+     */
+    public void evictUsers() {
+        runNowAndAfterCommit(cache -> {
+            cache.evictEntityData(User.class);
+            cache.evictCollectionData(User.class.getName() + ".roles");
+            cache.evictCollectionData(User.class.getName() + ".teams");
+            cache.evictQueryRegions();
+        });
+        List.of(User.class.getName(), User.class.getName() + ".roles", User.class.getName() + ".teams")
+            .forEach(cacheInvalidationBus::publishAll);
+    }
+
+    public void evictAll() {
+        runNowAndAfterCommit(Cache::evictAllRegions);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache()) {
+                cacheInvalidationBus.publishAll(persister.getEntityName());
+            }
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(persister -> {
+            if (persister.hasCache()) {
+                cacheInvalidationBus.publishAll(persister.getRole());
+            }
+        });
+    }
+
+    // Cached query results are checked against this replica's table timestamps, which a write on
+    // another replica does not touch, so they are dropped with every remote change
+    private static void evictRemoteChange(Cache cache, Set<Long> ids, Runnable evictAll, Consumer<Long> evictOne) {
+        if (ids.isEmpty()) {
+            evictAll.run();
+        } else {
+            ids.forEach(evictOne);
+        }
+        cache.evictQueryRegions();
+    }
+
+    // Again after commit: a concurrent reader could re-cache the old rows before the write is visible
+    private void runNowAndAfterCommit(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+
+    /**
+     * Publishes every flushed write to a cached entity or collection. The bus sends them only if
+     * the transaction commits.
+     */
+    private class ReplicaInvalidationListener implements PostInsertEventListener, PostUpdateEventListener,
+            PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        private final SessionFactoryImplementor sessionFactory;
+
+        ReplicaInvalidationListener(SessionFactoryImplementor sessionFactory) {
+            this.sessionFactory = sessionFactory;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            // Nobody has the new row cached, but cached query results may now be incomplete
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void entityChanged(EntityPersister persister, Object id) {
+            if (persister.canWriteToCache() && id instanceof Long entityId) {
+                cacheInvalidationBus.publish(persister.getEntityName(), List.of(entityId));
+            }
+        }
+
+        private void collectionChanged(AbstractCollectionEvent event) {
+            PersistentCollection<?> collection = event.getCollection();
+            if (collection.getRole() == null || !(event.getAffectedOwnerIdOrNull() instanceof Long ownerId)) {
+                return;
+            }
+            if (sessionFactory.getMappingMetamodel().getCollectionDescriptor(collection.getRole()).hasCache()) {
+                cacheInvalidationBus.publish(collection.getRole(), List.of(ownerId));
+            }
+        }
+    }
+}
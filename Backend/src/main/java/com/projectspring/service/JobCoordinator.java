@@ -0,0 +1,196 @@
+package com.projectspring.service;
+
+import com.projectspring.dto.JobRunDTO;
+import com.projectspring.repository.JobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes @Scheduled jobs safe to run on several backend replicas. Before a run the job (or one
+ * shard of it) takes a lease row in job_locks; replicas that find it held skip the run. The
+ * lease is renewed while the job runs and expires on its own if the holder dies. Every run
+ * that got the lock is recorded in job_runs.
+ *
+ * Jobs scheduled with fixedRate/fixedDelay fire at different moments on each replica, so
+ * the lock is kept for a minimum interval after it was taken: with an interval a little
+ * shorter than the schedule, each period runs on exactly one replica.
+ */
+@Service
+public class JobCoordinator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCoordinator.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_HISTORY_PAGE = 500;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.jobs.history-days:30}")
+    private int historyDays;
+
+    private final String owner = createOwnerId();
+
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    public interface Job {
+        /** Runs the job and returns the number of items it processed (for the run history). */
+        int run();
+    }
+
+    @FunctionalInterface
+    public interface ShardedJob {
+        /** Processes shard {@code shard} of {@code shardCount} and returns the items processed. */
+        int run(int shard, int shardCount);
+    }
+
+    /**
+     * Runs the job unless another replica holds its lock or ran it less than {@code minInterval} ago.
+     * Returns whether this replica ran it. Exceptions from the job are recorded and rethrown.
+     */
+    public boolean runExclusive(String jobName, Duration minInterval, Job job) {
+        return runLocked(jobName, jobName, null, null, minInterval, job);
+    }
+
+    /**
+     * Splits the job into {@code shardCount} shards with one lock each. Every replica walks all
+     * shards, starting at a different one, and runs those it can lock, so the shards are spread
+     * over the replicas that fire at the same time. A failed shard does not stop the others;
+     * the last failure is rethrown after all shards were tried. Returns the shards run here.
+     */
+    public int runSharded(String jobName, int shardCount, Duration minInterval, ShardedJob job) {
+        int count = Math.max(1, shardCount);
+        int start = Math.floorMod(owner.hashCode(), count);
+        int ran = 0;
+        RuntimeException failure = null;
+        for (int i = 0; i < count; i++) {
+            int shard = (start + i) % count;
+            try {
+                if (runLocked(jobName, jobName + "#" + shard, shard, count, minInterval, () -> job.run(shard, count))) {
+                    ran++;
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return ran;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public List<JobRunDTO> getRecentRuns(String jobName, int limit) {
+        return jobLockRepository.findRecentRuns(jobName, Math.min(Math.max(limit, 1), MAX_HISTORY_PAGE));
+    }
+
+    @Scheduled(cron = "${app.jobs.history-cleanup-cron:0 15 3 * * ?}")
+    public void cleanupRunHistory() {
+        try {
+            runExclusive("job-runs-cleanup", Duration.ofHours(1), () -> jobLockRepository.deleteRunsBefore(historyDays));
+        } catch (Exception e) {
+            logger.error("Job run history cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean runLocked(String jobName, String lockName, Integer shard, Integer shardCount,
+                              Duration minInterval, Job job) {
+        long leaseMs = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        // Lock bookkeeping commits on its own, even when the caller is inside a transaction
+        TransactionTemplate bookkeeping = new TransactionTemplate(transactionManager);
+        bookkeeping.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Boolean acquired = bookkeeping.execute(status -> jobLockRepository.tryAcquire(lockName, owner, leaseMs));
+        if (!Boolean.TRUE.equals(acquired)) {
+            logger.debug("Job {} is locked by another replica, skipping", lockName);
+            return false;
+        }
+
+        Long runId = bookkeeping.execute(status -> jobLockRepository.insertRun(jobName, shard, shardCount, owner));
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(() -> renew(lockName, leaseMs),
+            leaseMs / 3, leaseMs / 3, TimeUnit.MILLISECONDS);
+        long started = System.currentTimeMillis();
+        try {
+            int items = job.run();
+            renewal.cancel(false);
+            long durationMs = System.currentTimeMillis() - started;
+            bookkeeping.executeWithoutResult(status -> jobLockRepository.finishRun(runId, "SUCCEEDED", items, durationMs, null));
+            return true;
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            long durationMs = System.currentTimeMillis() - started;
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            try {
+                bookkeeping.executeWithoutResult(status -> jobLockRepository.finishRun(runId, "FAILED", 0, durationMs, truncated));
+            } catch (RuntimeException recordFailure) {
+                logger.warn("Could not record failed run of job {}: {}", lockName, recordFailure.getMessage());
+            }
+            throw e;
+        } finally {
+            try {
+                bookkeeping.executeWithoutResult(status -> jobLockRepository.release(lockName, owner, minInterval.toMillis()));
+            } catch (RuntimeException e) {
+                // The lease runs out on its own
+                logger.warn("Could not release lock of job {}: {}", lockName, e.getMessage());
+            }
+        }
+    }
+
+    private void renew(String lockName, long leaseMs) {
+        try {
+            if (!jobLockRepository.renew(lockName, owner, leaseMs)) {
+                logger.warn("Job {} lost its lock; another replica may start it", lockName);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew lock of job {}: {}", lockName, e.getMessage());
+        }
+    }
+
+    private static String createOwnerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        // Random suffix: a restarted container keeps its host name but must not inherit old leases
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public void destroy() {
+        leaseRenewer.shutdownNow();
+    }
+}
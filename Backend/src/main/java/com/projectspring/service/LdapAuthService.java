@@ -1,191 +1,384 @@
 package com.projectspring.service;
 
-import com.projectspring.model.RoleEntity;
+import com.projectspring.dto.LdapUserDTO;
 import com.projectspring.model.User;
-import com.projectspring.model.enums.Role;
 import com.projectspring.repository.RoleRepository;
 import com.projectspring.repository.UserRepository;
+import com.projectspring.util.CircuitBreaker;
 import com.projectspring.util.LdapInputSanitizer;
+import com.projectspring.util.TtlCache;
 import com.projectspring.model.LdapSettings;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.ldap.core.AttributesMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextAdapter;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.ldap.filter.EqualsFilter;
 import org.springframework.ldap.support.LdapUtils;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.ldap.authentication.LdapAuthenticationProvider;
-import org.springframework.security.ldap.authentication.ad.ActiveDirectoryLdapAuthenticationProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.naming.Name;
-import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.SearchControls;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class LdapAuthService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(LdapAuthService.class);
-    
+
+    // Attributes fetched in the single login search (DN comes with the search result)
+    private static final String[] USER_ATTRIBUTES = {"uid", "mail", "cn", "sn", "givenName"};
+
     @Autowired
     private LdapTemplate ldapTemplate;
-    
+
     @Autowired
     private UserRepository userRepository;
-    
+
     @Autowired
     private RoleRepository roleRepository;
-    
+
     @Autowired
     private UserDetailsService userDetailsService;
-    
+
     @Autowired
     private JwtService jwtService;
-    
+
     @Autowired
     private PasswordEncoder passwordEncoder;
-    
+
     @Autowired
     private LdapSettingsService ldapSettingsService;
-    
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ldap.auth.dn-cache-ttl-seconds:600}")
+    private long dnCacheTtlSeconds;
+
+    @Value("${app.ldap.auth.dn-cache-max-size:10000}")
+    private int dnCacheMaxSize;
+
+    @Value("${app.ldap.auth.negative-cache-ttl-seconds:60}")
+    private long negativeCacheTtlSeconds;
+
+    @Value("${app.ldap.auth.breaker.failure-threshold:3}")
+    private int breakerFailureThreshold;
+
+    @Value("${app.ldap.auth.breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Value("${app.concurrency.limits-enabled:false}")
+    private boolean concurrencyLimitsEnabled;
+
+    @Value("${app.concurrency.ldap-permits:16}")
+    private int ldapPermits;
+
+    @Value("${app.concurrency.acquire-timeout-ms:20000}")
+    private long permitTimeoutMs;
+
+    // username -> directory entry (DN + attributes) so repeat logins only need the bind
+    private TtlCache<String, LdapUserDTO> dnCache;
+
+    // usernames the directory does not know, so auto-mode logins of local users skip LDAP
+    private TtlCache<String, Boolean> notInDirectoryCache;
+
+    // Settings the cached DNs were resolved with; caches and breaker are reset when they change
+    private volatile String dnCacheScope;
+
+    // Opens after consecutive directory errors so logins fall back to local auth without waiting on LDAP
+    private CircuitBreaker directoryBreaker;
+
+    // Bounds concurrent directory logins to the LDAP pool size when concurrency limits are enabled (virtual threads)
+    private Semaphore directoryPermits;
+
+    private final LongAdder ldapLogins = new LongAdder();
+    private final LongAdder ldapSearches = new LongAdder();
+    private final LongAdder ldapBinds = new LongAdder();
+    private final LongAdder dnCacheHits = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final LongAdder breakerRejections = new LongAdder();
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        dnCache = new TtlCache<>(Duration.ofSeconds(dnCacheTtlSeconds), dnCacheMaxSize);
+        notInDirectoryCache = new TtlCache<>(Duration.ofSeconds(negativeCacheTtlSeconds), dnCacheMaxSize);
+        directoryBreaker = new CircuitBreaker(breakerFailureThreshold, Duration.ofSeconds(breakerOpenSeconds));
+        directoryPermits = concurrencyLimitsEnabled ? new Semaphore(ldapPermits, true) : null;
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        FunctionCounter.builder("app.ldap.searches", ldapSearches, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("app.ldap.binds", ldapBinds, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("app.ldap.dn.cache.hits", dnCacheHits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("app.ldap.negative.cache.hits", negativeCacheHits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("app.ldap.breaker.rejections", breakerRejections, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("app.ldap.breaker.state", directoryBreaker, breaker -> breaker.getState().ordinal())
+            .description("0 = closed, 1 = open, 2 = half-open")
+            .register(meterRegistry);
+    }
+
     public String authenticate(String username, String password) {
         return authenticate(username, password, null);
     }
-    
+
     public String authenticate(String username, String password, String loginType) {
         // Sanitize username input to prevent LDAP injection
         String sanitizedUsername = LdapInputSanitizer.sanitizeUsername(username);
-        
+
         // Check LDAP settings from database
         LdapSettings activeSettings = ldapSettingsService.getActiveLdapSettings();
         boolean ldapEnabled = activeSettings != null && activeSettings.getIsEnabled() != null && activeSettings.getIsEnabled();
-        
+
         // If loginType is "standard", skip LDAP and go directly to local authentication
         if ("standard".equalsIgnoreCase(loginType)) {
             logger.info("Login type is 'standard', skipping LDAP authentication");
             return authenticateLocal(sanitizedUsername, password);
         }
-        
+
         // If loginType is "ldap", only try LDAP authentication
         if ("ldap".equalsIgnoreCase(loginType)) {
             if (!ldapEnabled) {
                 throw new RuntimeException("LDAP authentication is disabled");
             }
             logger.info("Login type is 'ldap', attempting LDAP authentication only");
-            return authenticateLdap(sanitizedUsername, password, activeSettings);
+            try {
+                LdapUserDTO entry = authenticateAgainstDirectory(sanitizedUsername, password, activeSettings);
+                if (entry == null) {
+                    throw new RuntimeException("LDAP authentication failed");
+                }
+                return issueLdapToken(sanitizedUsername, entry);
+            } catch (DirectoryUnavailableException e) {
+                logger.warn("LDAP Auth - {} (user: {})", e.getMessage(), sanitizedUsername);
+                throw new RuntimeException("LDAP authentication failed: " + e.getMessage());
+            } catch (Exception e) {
+                logger.error("LDAP Auth - LDAP authentication error for user {}: {}", sanitizedUsername, e.getMessage(), e);
+                throw new RuntimeException("LDAP authentication failed: " + e.getMessage());
+            }
         }
-        
+
         // Try LDAP first if enabled (auto mode - loginType is null or empty)
         if (ldapEnabled) {
             try {
-                // Get userSearchBase from database settings
-                String userSearchBase = activeSettings.getUserSearchBase();
-                String userSearchFilter = activeSettings.getUserSearchFilter() != null 
-                    ? activeSettings.getUserSearchFilter() 
-                    : "(uid={0})";
-                
-                // Use userSearchBase if available, otherwise use base DN
-                Name searchBase = (userSearchBase != null && !userSearchBase.isEmpty())
-                    ? LdapUtils.newLdapName(userSearchBase)
-                    : LdapUtils.emptyLdapName();
-                
-                // LDAP authentication
-                EqualsFilter filter = new EqualsFilter("uid", sanitizedUsername);
-                logger.info("LDAP Auth - Attempting authentication for user: {}, SearchBase: {}", sanitizedUsername, userSearchBase);
-                boolean authenticated = ldapTemplate.authenticate(
-                    searchBase,
-                    filter.encode(),
-                    password
-                );
-                
-                logger.info("LDAP Auth - Authentication result: {}", authenticated);
-                
-                if (authenticated) {
-                    // Get user details from LDAP
-                    String userDn = findUserDn(sanitizedUsername, activeSettings);
-                    logger.info("LDAP Auth - Found user DN: {}", userDn);
-                    
-                    // Sync user to database
-                    User user = syncUserFromLdap(sanitizedUsername, userDn);
-                    logger.info("LDAP Auth - User synced to database: {}", user.getUsername());
-                    
-                    // Generate JWT token
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    return jwtService.generateToken(userDetails);
-                } else {
-                    logger.warn("LDAP Auth - Authentication failed for user: {}", sanitizedUsername);
+                LdapUserDTO entry = authenticateAgainstDirectory(sanitizedUsername, password, activeSettings);
+                if (entry != null) {
+                    return issueLdapToken(sanitizedUsername, entry);
                 }
+                logger.warn("LDAP Auth - Authentication failed for user: {}", sanitizedUsername);
+            } catch (DirectoryUnavailableException e) {
+                // Circuit open - go straight to local authentication
+                logger.warn("LDAP Auth - {}, trying local authentication for user: {}", e.getMessage(), sanitizedUsername);
             } catch (Exception e) {
                 // LDAP failed, log error and try local authentication
                 logger.error("LDAP Auth - LDAP authentication error for user {}: {}", sanitizedUsername, e.getMessage(), e);
                 // Continue to local user check below
             }
         }
-        
+
         // Try local user authentication (fallback for auto mode, or if LDAP failed)
         return authenticateLocal(sanitizedUsername, password);
     }
-    
-    private String authenticateLdap(String sanitizedUsername, String password, LdapSettings activeSettings) {
+
+    /**
+     * Authenticates against the directory unless the user is known not to be there
+     * (negative cache) or the circuit breaker is open.
+     *
+     * @return the directory entry on success, null if the user is unknown or the password is wrong
+     * @throws DirectoryUnavailableException if the circuit breaker rejects the call
+     */
+    private LdapUserDTO authenticateAgainstDirectory(String sanitizedUsername, String password, LdapSettings settings) {
+        // An empty password would turn into an anonymous bind, which most servers accept
+        if (password == null || password.isEmpty()) {
+            return null;
+        }
+
+        resetDirectoryStateIfSettingsChanged(settings);
+        String cacheKey = sanitizedUsername.toLowerCase(Locale.ROOT);
+
+        if (notInDirectoryCache.get(cacheKey).isPresent()) {
+            negativeCacheHits.increment();
+            return null;
+        }
+
+        // Permit first: a half-open probe must not be granted to a call that then times out here
+        acquireDirectoryPermit();
+        try {
+            if (!directoryBreaker.tryAcquire()) {
+                breakerRejections.increment();
+                throw new DirectoryUnavailableException("LDAP directory unavailable, circuit breaker is open until "
+                    + directoryBreaker.getRetryAt());
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "error";
+            try {
+                LdapUserDTO entry = searchAndBind(sanitizedUsername, cacheKey, password, settings);
+                directoryBreaker.recordSuccess();
+                outcome = entry != null ? "authenticated" : "rejected";
+                return entry;
+            } catch (RuntimeException e) {
+                // Wrong passwords are not failures (bind returns false); anything thrown here is the directory itself
+                directoryBreaker.recordFailure(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                if (directoryBreaker.getState() == CircuitBreaker.State.OPEN) {
+                    logger.warn("LDAP Auth - Circuit breaker opened after {} consecutive directory failure(s)",
+                        directoryBreaker.getConsecutiveFailures());
+                }
+                throw e;
+            } finally {
+                // Directory round-trips only (search + bind); permit and breaker waits are not included
+                sample.stop(meterRegistry.timer("app.ldap.auth", "outcome", outcome));
+            }
+        } finally {
+            if (directoryPermits != null) {
+                directoryPermits.release();
+            }
+        }
+    }
+
+    private void acquireDirectoryPermit() {
+        if (directoryPermits == null) {
+            return;
+        }
         try {
-            // Get userSearchBase from database settings
-            String userSearchBase = activeSettings.getUserSearchBase();
-            String userSearchFilter = activeSettings.getUserSearchFilter() != null 
-                ? activeSettings.getUserSearchFilter() 
-                : "(uid={0})";
-            
-            // Use userSearchBase if available, otherwise use base DN
-            Name searchBase = (userSearchBase != null && !userSearchBase.isEmpty())
-                ? LdapUtils.newLdapName(userSearchBase)
-                : LdapUtils.emptyLdapName();
-            
-            // LDAP authentication
-            EqualsFilter filter = new EqualsFilter("uid", sanitizedUsername);
-            logger.info("LDAP Auth - Attempting authentication for user: {}, SearchBase: {}", sanitizedUsername, userSearchBase);
-            boolean authenticated = ldapTemplate.authenticate(
-                searchBase,
-                filter.encode(),
-                password
-            );
-            
-            logger.info("LDAP Auth - Authentication result: {}", authenticated);
-            
-            if (!authenticated) {
-                throw new RuntimeException("LDAP authentication failed");
+            if (!directoryPermits.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new DirectoryUnavailableException("LDAP concurrency limit reached (" + ldapPermits + " permits)");
             }
-            
-            // Get user details from LDAP
-            String userDn = findUserDn(sanitizedUsername, activeSettings);
-            logger.info("LDAP Auth - Found user DN: {}", userDn);
-            
-            // Sync user to database
-            User user = syncUserFromLdap(sanitizedUsername, userDn);
-            logger.info("LDAP Auth - User synced to database: {}", user.getUsername());
-            
-            // Generate JWT token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(sanitizedUsername);
-            return jwtService.generateToken(userDetails);
-        } catch (Exception e) {
-            logger.error("LDAP Auth - LDAP authentication error for user {}: {}", sanitizedUsername, e.getMessage(), e);
-            throw new RuntimeException("LDAP authentication failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DirectoryUnavailableException("Interrupted while waiting for an LDAP permit");
         }
     }
-    
+
+    /**
+     * Resolves the user's directory entry and verifies the password with a bind.
+     * A cache hit costs one round-trip (bind); a miss costs a single search returning
+     * DN and attributes followed by the bind.
+     */
+    private LdapUserDTO searchAndBind(String sanitizedUsername, String cacheKey, String password, LdapSettings settings) {
+        ldapLogins.increment();
+        int roundTrips = 0;
+
+        Optional<LdapUserDTO> cached = dnCache.get(cacheKey);
+        if (cached.isPresent()) {
+            dnCacheHits.increment();
+            roundTrips++;
+            if (bind(cached.get().getLdapDn(), password)) {
+                logRoundTrips(sanitizedUsername, roundTrips, true);
+                return cached.get();
+            }
+            // DN may have moved or the password is wrong - verify against a fresh search
+            dnCache.invalidate(cacheKey);
+        }
+
+        roundTrips++;
+        LdapUserDTO entry = searchUser(sanitizedUsername, settings);
+        if (entry == null) {
+            logRoundTrips(sanitizedUsername, roundTrips, cached.isPresent());
+            return null;
+        }
+
+        roundTrips++;
+        boolean authenticated = bind(entry.getLdapDn(), password);
+        logRoundTrips(sanitizedUsername, roundTrips, cached.isPresent());
+        if (!authenticated) {
+            return null;
+        }
+
+        dnCache.put(cacheKey, entry);
+        return entry;
+    }
+
+    private LdapUserDTO searchUser(String sanitizedUsername, LdapSettings settings) {
+        EqualsFilter filter = new EqualsFilter("uid", sanitizedUsername);
+
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(USER_ATTRIBUTES);
+        controls.setCountLimit(2);
+
+        logger.info("LDAP Auth - Searching user: {}, SearchBase: {}", sanitizedUsername, settings.getUserSearchBase());
+        ldapSearches.increment();
+        // Use ContextMapper to get DN directly from search result (OpenLDAP doesn't have distinguishedName attribute)
+        List<LdapUserDTO> entries = ldapTemplate.search(
+            userSearchBase(settings),
+            filter.encode(),
+            controls,
+            (ContextMapper<LdapUserDTO>) ctx -> {
+                DirContextAdapter adapter = (DirContextAdapter) ctx;
+                LdapUserDTO dto = new LdapUserDTO();
+                dto.setUsername(adapter.getStringAttribute("uid"));
+                dto.setEmail(adapter.getStringAttribute("mail"));
+                dto.setFullName(adapter.getStringAttribute("cn"));
+                dto.setCn(adapter.getStringAttribute("cn"));
+                dto.setSn(adapter.getStringAttribute("sn"));
+                dto.setGivenName(adapter.getStringAttribute("givenName"));
+                dto.setLdapDn(adapter.getNameInNamespace());
+                return dto;
+            }
+        );
+
+        if (entries.size() > 1) {
+            logger.warn("LDAP Auth - Multiple directory entries found for user: {}", sanitizedUsername);
+            return null;
+        }
+        if (entries.isEmpty()) {
+            notInDirectoryCache.put(sanitizedUsername.toLowerCase(Locale.ROOT), Boolean.TRUE);
+            return null;
+        }
+        return entries.get(0);
+    }
+
+    private boolean bind(String userDn, String password) {
+        ldapBinds.increment();
+        DirContext ctx = null;
+        try {
+            ctx = ldapTemplate.getContextSource().getContext(userDn, password);
+            return true;
+        } catch (org.springframework.ldap.AuthenticationException e) {
+            return false;
+        } finally {
+            LdapUtils.closeContext(ctx);
+        }
+    }
+
+    private String issueLdapToken(String sanitizedUsername, LdapUserDTO entry) {
+        logger.info("LDAP Auth - Found user DN: {}", entry.getLdapDn());
+
+        // Sync user to database
+        User user = syncUserFromLdap(sanitizedUsername, entry);
+        logger.info("LDAP Auth - User synced to database: {}", user.getUsername());
+
+        // Generate JWT token
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+        return jwtService.generateToken(userDetails);
+    }
+
     private String authenticateLocal(String sanitizedUsername, String password) {
         Optional<User> userOpt = userRepository.findByUsername(sanitizedUsername);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            
+
             // Check if user has password (local user)
             if (user.getPassword() != null && !user.getPassword().isEmpty()) {
                 // Verify password
@@ -201,40 +394,79 @@ public class LdapAuthService {
                 throw new RuntimeException("User not found or authentication failed");
             }
         }
-        
+
         throw new RuntimeException("User not found or authentication failed");
     }
-    
-    private String findUserDn(String username, LdapSettings settings) {
-        EqualsFilter filter = new EqualsFilter("uid", username);
-        
+
+    private Name userSearchBase(LdapSettings settings) {
         // Use userSearchBase if available, otherwise use base DN
-        Name searchBase = (settings.getUserSearchBase() != null && !settings.getUserSearchBase().isEmpty())
+        return (settings.getUserSearchBase() != null && !settings.getUserSearchBase().isEmpty())
             ? LdapUtils.newLdapName(settings.getUserSearchBase())
             : LdapUtils.emptyLdapName();
-        
-        // Use ContextMapper to get DN directly from search result (OpenLDAP doesn't have distinguishedName attribute)
-        List<String> dns = ldapTemplate.search(
-            searchBase,
-            filter.encode(),
-            (ContextMapper<String>) ctx -> {
-                DirContextAdapter adapter = (DirContextAdapter) ctx;
-                return adapter.getDn().toString();
-            }
-        );
-        
-        return dns.stream().findFirst().orElse(null);
     }
-    
+
+    private void resetDirectoryStateIfSettingsChanged(LdapSettings settings) {
+        String scope = settings.getId() + "|" + settings.getUpdatedAt() + "|" + settings.getUrls() + "|" + settings.getUserSearchBase();
+        if (!scope.equals(dnCacheScope)) {
+            dnCache.invalidateAll();
+            notInDirectoryCache.invalidateAll();
+            // New server or credentials deserve a fresh attempt
+            directoryBreaker.reset();
+            dnCacheScope = scope;
+        }
+    }
+
+    private void logRoundTrips(String username, int roundTrips, boolean dnCacheHit) {
+        logger.info("LDAP Auth - {} directory round-trip(s) for user: {} (dnCacheHit={})", roundTrips, username, dnCacheHit);
+    }
+
+    /**
+     * Directory round-trip counters since startup, used to verify that a login
+     * costs one search plus one bind (or a single bind on a DN cache hit).
+     */
+    public Map<String, Object> getLdapRoundTripStats() {
+        long logins = ldapLogins.sum();
+        long searches = ldapSearches.sum();
+        long binds = ldapBinds.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("logins", logins);
+        stats.put("searches", searches);
+        stats.put("binds", binds);
+        stats.put("dnCacheHits", dnCacheHits.sum());
+        stats.put("dnCacheSize", dnCache.size());
+        stats.put("roundTripsPerLogin", logins > 0 ? (double) (searches + binds) / logins : 0.0);
+        stats.put("negativeCacheHits", negativeCacheHits.sum());
+        stats.put("negativeCacheSize", notInDirectoryCache.size());
+        stats.put("breakerState", directoryBreaker.getState().name());
+        stats.put("breakerRejections", breakerRejections.sum());
+        return stats;
+    }
+
+    public CircuitBreaker.State getDirectoryBreakerState() {
+        return directoryBreaker.getState();
+    }
+
+    public int getDirectoryConsecutiveFailures() {
+        return directoryBreaker.getConsecutiveFailures();
+    }
+
+    public String getDirectoryLastError() {
+        return directoryBreaker.getLastError();
+    }
+
+    public Instant getDirectoryRetryAt() {
+        return directoryBreaker.getRetryAt();
+    }
+
     @Transactional
-    public User syncUserFromLdap(String username, String ldapDn) {
+    public User syncUserFromLdap(String username, LdapUserDTO entry) {
         Optional<User> existingUser = userRepository.findByUsername(username);
-        
+
         if (existingUser.isPresent()) {
             User user = existingUser.get();
             // Update LDAP DN if provided
-            if (ldapDn != null) {
-                user.setLdapDn(ldapDn);
+            if (entry.getLdapDn() != null) {
+                user.setLdapDn(entry.getLdapDn());
             }
             // Reactivate if soft-deleted
             if (user.getIsActive() != null && !user.getIsActive()) {
@@ -245,24 +477,26 @@ public class LdapAuthService {
             user.setPassword(null);
             return userRepository.save(user);
         } else {
-            // Create new user from LDAP
+            // Create new user from LDAP, using the attributes returned by the login search
             User newUser = new User();
             newUser.setUsername(username);
-            newUser.setEmail(username + "@example.com"); // LDAP'den alınabilir
-            newUser.setFullName(username); // LDAP'den alınabilir
-            newUser.setLdapDn(ldapDn);
+            newUser.setEmail(entry.getEmail() != null && !userRepository.existsByEmail(entry.getEmail())
+                ? entry.getEmail()
+                : username + "@example.com");
+            newUser.setFullName(entry.getFullName() != null ? entry.getFullName() : username);
+            newUser.setLdapDn(entry.getLdapDn());
             newUser.setIsActive(true);
             newUser.setPassword(null); // LDAP users don't have passwords
-            
+
             // Default role assignment (can be customized)
             roleRepository.findByName("YAZILIMCI").ifPresent(role -> {
                 newUser.getRoles().add(role);
             });
-            
+
             return userRepository.save(newUser);
         }
     }
-    
+
     public boolean validateCredentials(String username, String password) {
         try {
             // Check LDAP settings from database
@@ -270,24 +504,21 @@ public class LdapAuthService {
             if (activeSettings == null || activeSettings.getIsEnabled() == null || !activeSettings.getIsEnabled()) {
                 return false;
             }
-            
+
             // Sanitize username input to prevent LDAP injection
             String sanitizedUsername = LdapInputSanitizer.sanitizeUsername(username);
-            EqualsFilter filter = new EqualsFilter("uid", sanitizedUsername);
-            
-            // Use userSearchBase if available, otherwise use base DN
-            Name searchBase = (activeSettings.getUserSearchBase() != null && !activeSettings.getUserSearchBase().isEmpty())
-                ? LdapUtils.newLdapName(activeSettings.getUserSearchBase())
-                : LdapUtils.emptyLdapName();
-            
-            return ldapTemplate.authenticate(
-                searchBase,
-                filter.encode(),
-                password
-            );
+            return authenticateAgainstDirectory(sanitizedUsername, password, activeSettings) != null;
         } catch (Exception e) {
             return false;
         }
     }
-}
 
+    /**
+     * Thrown instead of calling the directory while the circuit breaker is open.
+     */
+    private static class DirectoryUnavailableException extends RuntimeException {
+        DirectoryUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.projectspring.service;
+
+import com.projectspring.dto.LdapSyncResultDTO;
+import com.projectspring.dto.LdapUserDTO;
+import com.projectspring.model.LdapSettings;
+import com.projectspring.model.LdapSyncState;
+import com.projectspring.repository.LdapSyncStateRepository;
+import com.projectspring.repository.UserBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.ContextMapper;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.AndFilter;
+import org.springframework.ldap.filter.GreaterThanOrEqualsFilter;
+import org.springframework.ldap.filter.PresentFilter;
+import org.springframework.ldap.support.LdapUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.naming.Name;
+import javax.naming.directory.SearchControls;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the users table in line with the directory. Walks the user search base with the
+ * paged-results control, asking only for entries whose modifyTimestamp is at or after the
+ * high-water mark of the last completed run, and upserts each page with one JDBC batch.
+ *
+ * The high-water mark only advances after a run completes, so a failed run is simply
+ * repeated (upserts are idempotent).
+ */
+@Service
+public class LdapDirectorySyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LdapDirectorySyncService.class);
+
+    private static final String[] SYNC_ATTRIBUTES = {"uid", "mail", "cn", "modifyTimestamp"};
+    private static final String DEFAULT_ROLE = "YAZILIMCI";
+    private static final int MAX_USERNAME_LENGTH = 100;
+
+    @Autowired
+    private LdapTemplate ldapTemplate;
+
+    @Autowired
+    private LdapSettingsService ldapSettingsService;
+
+    @Autowired
+    private LdapSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private UserBulkRepository userBulkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Value("${app.ldap.sync.enabled:true}")
+    private boolean syncEnabled;
+
+    @Value("${app.ldap.sync.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.ldap.sync.interval-ms:900000}")
+    private long syncIntervalMs;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${app.ldap.sync.interval-ms:900000}",
+               initialDelayString = "${app.ldap.sync.initial-delay-ms:60000}")
+    public void scheduledSync() {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            // One replica per interval; the others find the lock taken and skip this round
+            jobCoordinator.runExclusive("ldap-directory-sync", Duration.ofMillis(syncIntervalMs * 9 / 10),
+                () -> runSync(false).getEntriesSeen());
+        } catch (Exception e) {
+            logger.error("LDAP Sync - Scheduled directory sync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs an incremental sync, or a full one when {@code full} is true or the LDAP
+     * server/search base changed since the stored high-water mark was taken.
+     */
+    public LdapSyncResultDTO runSync(boolean full) {
+        LdapSyncResultDTO result = new LdapSyncResultDTO();
+
+        LdapSettings settings = ldapSettingsService.getActiveLdapSettings();
+        if (settings == null || !Boolean.TRUE.equals(settings.getIsEnabled())) {
+            result.setMessage("LDAP is disabled");
+            return result;
+        }
+
+        if (!runLock.tryLock()) {
+            result.setMessage("LDAP sync is already running");
+            return result;
+        }
+        try {
+            return sync(settings, full, result);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private LdapSyncResultDTO sync(LdapSettings settings, boolean full, LdapSyncResultDTO result) {
+        long started = System.currentTimeMillis();
+        LdapSyncState state = syncStateRepository.findFirstByOrderByIdAsc().orElseGet(LdapSyncState::new);
+        try {
+            String scope = settings.getUrls() + "|" + settings.getUserSearchBase();
+            String since = (!full && scope.equals(state.getScope())) ? state.getHighWaterMark() : null;
+            result.setFullSync(since == null);
+
+            AndFilter filter = new AndFilter().and(new PresentFilter("uid"));
+            if (since != null) {
+                filter.and(new GreaterThanOrEqualsFilter("modifyTimestamp", since));
+            }
+
+            SearchControls controls = new SearchControls();
+            controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+            controls.setReturningAttributes(SYNC_ATTRIBUTES);
+
+            Name searchBase = (settings.getUserSearchBase() != null && !settings.getUserSearchBase().isEmpty())
+                ? LdapUtils.newLdapName(settings.getUserSearchBase())
+                : LdapUtils.emptyLdapName();
+
+            String[] highWaterMark = {since};
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            // Paged results must stay on one connection until the last page
+            SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), operations -> {
+                PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+                do {
+                    List<DirectoryEntry> page = operations.search(searchBase, filter.encode(), controls,
+                        (ContextMapper<DirectoryEntry>) ctx -> toDirectoryEntry((DirContextAdapter) ctx), processor);
+
+                    result.setPages(result.getPages() + 1);
+                    result.setEntriesSeen(result.getEntriesSeen() + page.size());
+                    for (DirectoryEntry entry : page) {
+                        if (entry.modifyTimestamp() != null
+                                && (highWaterMark[0] == null || entry.modifyTimestamp().compareTo(highWaterMark[0]) > 0)) {
+                            highWaterMark[0] = entry.modifyTimestamp();
+                        }
+                    }
+
+                    transactionTemplate.executeWithoutResult(status -> upsertPage(page, result));
+                } while (processor.hasMore());
+                return null;
+            });
+
+            result.setExecuted(true);
+            result.setHighWaterMark(highWaterMark[0]);
+            result.setDurationMs(System.currentTimeMillis() - started);
+            result.setMessage("LDAP sync completed");
+
+            state.setScope(scope);
+            state.setHighWaterMark(highWaterMark[0]);
+            if (result.isFullSync()) {
+                state.setLastFullSyncAt(LocalDateTime.now());
+            }
+            state.setLastError(null);
+            logger.info("LDAP Sync - {} sync finished: {} entries in {} page(s), {} inserted, {} updated, {} unchanged, {} skipped, {} ms",
+                result.isFullSync() ? "Full" : "Incremental", result.getEntriesSeen(), result.getPages(),
+                result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getSkipped(),
+                result.getDurationMs());
+            return result;
+        } catch (RuntimeException e) {
+            result.setDurationMs(System.currentTimeMillis() - started);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            state.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            throw e;
+        } finally {
+            state.setLastRunAt(LocalDateTime.now());
+            state.setLastEntriesSeen(result.getEntriesSeen());
+            state.setLastInserted(result.getInserted());
+            state.setLastUpdated(result.getUpdated());
+            state.setLastDurationMs(result.getDurationMs());
+            syncStateRepository.save(state);
+        }
+    }
+
+    /**
+     * Resolves existing users for the whole page with one query, then writes only
+     * new or changed users in a single batch.
+     */
+    private void upsertPage(List<DirectoryEntry> page, LdapSyncResultDTO result) {
+        // Same uid twice in one batch would make ON CONFLICT fail
+        Map<String, LdapUserDTO> byUsername = new LinkedHashMap<>();
+        for (DirectoryEntry entry : page) {
+            String username = entry.user().getUsername();
+            if (username == null || username.isBlank() || username.length() > MAX_USERNAME_LENGTH) {
+                continue;
+            }
+            byUsername.put(username, entry.user());
+        }
+        if (byUsername.isEmpty()) {
+            return;
+        }
+
+        // Also look up the fallback address of every user, so it is only used when nobody owns it
+        Set<String> emails = new HashSet<>();
+        byUsername.values().forEach(u -> {
+            if (u.getEmail() != null) {
+                emails.add(u.getEmail());
+            }
+            emails.add(fallbackEmail(u.getUsername()));
+        });
+
+        Map<String, UserBulkRepository.UserIdentity> existingByUsername = new HashMap<>();
+        Map<String, String> emailOwners = new HashMap<>();
+        for (UserBulkRepository.UserIdentity identity : userBulkRepository.findIdentities(byUsername.keySet(), emails)) {
+            existingByUsername.put(identity.username(), identity);
+            emailOwners.put(identity.email(), identity.username());
+        }
+
+        List<LdapUserDTO> changed = new ArrayList<>();
+        List<String> created = new ArrayList<>();
+        Set<String> claimedEmails = new HashSet<>();
+        for (LdapUserDTO user : byUsername.values()) {
+            UserBulkRepository.UserIdentity existing = existingByUsername.get(user.getUsername());
+            if (existing != null && existing.localUser()) {
+                // Local account with the same username - never overwritten by the directory
+                result.setUnchanged(result.getUnchanged() + 1);
+                continue;
+            }
+
+            String email = user.getEmail();
+            if (email == null || !isAvailable(email, user.getUsername(), emailOwners, claimedEmails)) {
+                if (existing != null) {
+                    email = existing.email();
+                } else {
+                    email = fallbackEmail(user.getUsername());
+                    if (!isAvailable(email, user.getUsername(), emailOwners, claimedEmails)) {
+                        // users.email is unique; importing would fail the whole page
+                        logger.warn("LDAP Sync - Skipping {}: no usable e-mail address, {} is already taken",
+                            user.getUsername(), email);
+                        result.setSkipped(result.getSkipped() + 1);
+                        continue;
+                    }
+                }
+            }
+            String fullName = user.getFullName() != null ? user.getFullName()
+                : existing != null ? existing.fullName() : user.getUsername();
+
+            if (existing != null
+                    && Objects.equals(existing.email(), email)
+                    && Objects.equals(existing.fullName(), fullName)
+                    && Objects.equals(existing.ldapDn(), user.getLdapDn())) {
+                result.setUnchanged(result.getUnchanged() + 1);
+                continue;
+            }
+
+            LdapUserDTO row = new LdapUserDTO();
+            row.setUsername(user.getUsername());
+            row.setEmail(email);
+            row.setFullName(fullName);
+            row.setLdapDn(user.getLdapDn());
+            changed.add(row);
+
+            if (existing == null) {
+                created.add(user.getUsername());
+                result.setInserted(result.getInserted() + 1);
+            } else {
+                result.setUpdated(result.getUpdated() + 1);
+            }
+        }
+
+        userBulkRepository.upsertLdapUsers(changed);
+        userBulkRepository.assignRoleToUsersWithoutRoles(created, DEFAULT_ROLE);
+    }
+
+    private static String fallbackEmail(String username) {
+        return username + "@example.com";
+    }
+
+    // Free when it is unowned or owned by this user, and not already given to another entry of the page
+    private static boolean isAvailable(String email, String username, Map<String, String> emailOwners,
+                                       Set<String> claimedEmails) {
+        String owner = emailOwners.get(email);
+        return (owner == null || owner.equals(username)) && claimedEmails.add(email);
+    }
+
+    private DirectoryEntry toDirectoryEntry(DirContextAdapter adapter) {
+        LdapUserDTO user = new LdapUserDTO();
+        user.setUsername(adapter.getStringAttribute("uid"));
+        user.setEmail(adapter.getStringAttribute("mail"));
+        user.setFullName(adapter.getStringAttribute("cn"));
+        user.setCn(adapter.getStringAttribute("cn"));
+        user.setLdapDn(adapter.getNameInNamespace());
+        return new DirectoryEntry(user, adapter.getStringAttribute("modifyTimestamp"));
+    }
+
+    private record DirectoryEntry(LdapUserDTO user, String modifyTimestamp) {
+    }
+}
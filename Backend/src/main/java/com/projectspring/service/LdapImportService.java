@@ -1,30 +1,50 @@
 package com.projectspring.service;
 
+import com.projectspring.dto.LdapBulkImportRequest;
+import com.projectspring.dto.LdapBulkImportResultDTO;
+import com.projectspring.dto.LdapImportResultDTO;
 import com.projectspring.dto.LdapSearchRequest;
 import com.projectspring.dto.LdapUserDTO;
 import com.projectspring.model.RoleEntity;
 import com.projectspring.model.User;
 import com.projectspring.repository.RoleRepository;
+import com.projectspring.repository.UserBulkRepository;
 import com.projectspring.repository.UserRepository;
 import com.projectspring.util.LdapInputSanitizer;
 import com.projectspring.model.LdapSettings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
 import org.springframework.ldap.core.AttributesMapper;
 import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextAdapter;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.AndFilter;
 import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.HardcodedFilter;
+import org.springframework.ldap.filter.OrFilter;
+import org.springframework.ldap.filter.PresentFilter;
 import org.springframework.ldap.support.LdapUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.naming.Name;
 import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -42,6 +62,20 @@ public class LdapImportService {
     @Autowired
     private LdapSettingsService ldapSettingsService;
 
+    @Autowired
+    private UserBulkRepository userBulkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.ldap.import.max-entries:5000}")
+    private int maxImportEntries;
+
+    @Value("${app.ldap.import.page-size:500}")
+    private int importPageSize;
+
+    private static final String[] IMPORT_ATTRIBUTES = {"uid", "mail", "cn", "sn", "givenName"};
+
     public List<LdapUserDTO> searchUsers(String username) {
         List<LdapUserDTO> results = new ArrayList<>();
 
@@ -183,6 +217,241 @@ public class LdapImportService {
         return userRepository.save(user);
     }
 
+    /**
+     * Imports many directory users at once: one (paged) directory search for all requested
+     * uids and/or the filter, one query to resolve existing users, and batched writes for
+     * users and role links in a single transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LdapBulkImportResultDTO bulkImport(LdapBulkImportRequest request) {
+        long started = System.currentTimeMillis();
+        LdapBulkImportResultDTO result = new LdapBulkImportResultDTO();
+
+        LdapSettings activeSettings = ldapSettingsService.getActiveLdapSettings();
+        if (activeSettings == null || activeSettings.getIsEnabled() == null || !activeSettings.getIsEnabled()) {
+            throw new RuntimeException("LDAP is disabled");
+        }
+
+        boolean hasUsernames = request.getUsernames() != null && !request.getUsernames().isEmpty();
+        boolean hasFilter = request.getFilter() != null && !request.getFilter().isBlank();
+        if (!hasUsernames && !hasFilter) {
+            throw new RuntimeException("Usernames or filter is required");
+        }
+        // Rejects malformed filters with a 400 instead of an LDAP error halfway through the search
+        String customFilter = hasFilter ? LdapInputSanitizer.validateSearchFilter(request.getFilter()) : null;
+
+        Set<Long> roleIds = request.getRoleIds() != null ? request.getRoleIds() : Set.of();
+        if (!roleIds.isEmpty()) {
+            Set<Long> foundRoleIds = roleRepository.findAllById(roleIds).stream()
+                    .map(RoleEntity::getId)
+                    .collect(Collectors.toSet());
+            for (Long roleId : roleIds) {
+                if (!foundRoleIds.contains(roleId)) {
+                    throw new RuntimeException("Role not found: " + roleId);
+                }
+            }
+        }
+
+        // Sanitize usernames input to prevent LDAP injection
+        Map<String, String> requested = new LinkedHashMap<>();
+        if (hasUsernames) {
+            for (String username : request.getUsernames()) {
+                try {
+                    String sanitized = LdapInputSanitizer.sanitizeUsername(username);
+                    requested.put(sanitized.toLowerCase(Locale.ROOT), sanitized);
+                } catch (IllegalArgumentException e) {
+                    addResult(result, username, null, LdapImportResultDTO.Status.FAILED, e.getMessage());
+                }
+            }
+        }
+
+        AndFilter filter = new AndFilter().and(new PresentFilter("uid"));
+        if (!requested.isEmpty()) {
+            OrFilter uidFilter = new OrFilter();
+            requested.values().forEach(uid -> uidFilter.or(new EqualsFilter("uid", uid)));
+            filter.and(uidFilter);
+        }
+        if (hasFilter) {
+            // Admin-supplied filter, e.g. (departmentNumber=42)
+            filter.and(new HardcodedFilter(customFilter));
+        }
+
+        Map<String, LdapUserDTO> entries = new LinkedHashMap<>();
+        if (hasFilter || !requested.isEmpty()) {
+            for (LdapUserDTO entry : searchDirectory(activeSettings, filter.encode())) {
+                if (entry.getUsername() != null) {
+                    entries.putIfAbsent(entry.getUsername(), entry);
+                }
+            }
+        }
+        result.setFound(entries.size());
+
+        Set<String> foundUids = entries.keySet().stream()
+                .map(uid -> uid.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        requested.forEach((key, uid) -> {
+            if (!foundUids.contains(key)) {
+                addResult(result, uid, null, LdapImportResultDTO.Status.NOT_FOUND, "User not found in LDAP");
+            }
+        });
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> writeBulkImport(new ArrayList<>(entries.values()), roleIds, result));
+
+        result.setDurationMs(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private void writeBulkImport(List<LdapUserDTO> entries, Set<Long> roleIds, LdapBulkImportResultDTO result) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> ldapDns = new HashSet<>();
+        for (LdapUserDTO entry : entries) {
+            usernames.add(entry.getUsername());
+            if (entry.getEmail() != null) {
+                emails.add(entry.getEmail());
+            }
+            // The fallback address must not belong to someone else either
+            emails.add(entry.getUsername() + "@example.com");
+            if (entry.getLdapDn() != null) {
+                ldapDns.add(entry.getLdapDn());
+            }
+        }
+
+        // Check if users already exist (including soft-deleted users) with a single query
+        Map<String, UserBulkRepository.UserIdentity> byUsername = new HashMap<>();
+        Map<String, UserBulkRepository.UserIdentity> byLdapDn = new HashMap<>();
+        Map<String, Long> emailOwners = new HashMap<>();
+        for (UserBulkRepository.UserIdentity identity : userBulkRepository.findIdentities(usernames, emails, ldapDns)) {
+            byUsername.put(identity.username(), identity);
+            if (identity.ldapDn() != null) {
+                byLdapDn.put(identity.ldapDn(), identity);
+            }
+            emailOwners.put(identity.email(), identity.id());
+        }
+
+        List<LdapUserDTO> created = new ArrayList<>();
+        Map<Long, LdapUserDTO> reactivated = new LinkedHashMap<>();
+        Set<String> claimedEmails = new HashSet<>();
+
+        for (LdapUserDTO entry : entries) {
+            UserBulkRepository.UserIdentity existing = byUsername.get(entry.getUsername());
+            boolean matchedByDn = false;
+            if (existing == null && entry.getLdapDn() != null) {
+                existing = byLdapDn.get(entry.getLdapDn());
+                matchedByDn = existing != null;
+            }
+
+            if (existing != null && (existing.active() || reactivated.containsKey(existing.id()))) {
+                // User is active, cannot import
+                addResult(result, entry.getUsername(), entry.getLdapDn(), LdapImportResultDTO.Status.ALREADY_EXISTS,
+                        matchedByDn ? "User with this LDAP DN already exists" : "User already exists: " + entry.getUsername());
+                continue;
+            }
+
+            String email = entry.getEmail();
+            Long existingId = existing != null ? existing.id() : null;
+            if (email == null || !isEmailAvailable(email, existingId, emailOwners, claimedEmails)) {
+                if (existing != null) {
+                    email = existing.email();
+                } else {
+                    email = entry.getUsername() + "@example.com";
+                    if (!isEmailAvailable(email, null, emailOwners, claimedEmails)) {
+                        addResult(result, entry.getUsername(), entry.getLdapDn(), LdapImportResultDTO.Status.FAILED,
+                                "No usable e-mail address, " + email + " is already in use");
+                        continue;
+                    }
+                }
+            }
+
+            LdapUserDTO row = new LdapUserDTO();
+            row.setUsername(entry.getUsername());
+            row.setLdapDn(entry.getLdapDn());
+            row.setEmail(email);
+
+            if (existing != null) {
+                // Soft-deleted user: reactivate and update (username may have changed in the directory)
+                row.setFullName(entry.getFullName() != null ? entry.getFullName() : existing.fullName());
+                reactivated.put(existing.id(), row);
+                addResult(result, entry.getUsername(), entry.getLdapDn(), LdapImportResultDTO.Status.REACTIVATED, null);
+            } else {
+                row.setFullName(entry.getFullName() != null ? entry.getFullName() : entry.getUsername());
+                created.add(row);
+                addResult(result, entry.getUsername(), entry.getLdapDn(), LdapImportResultDTO.Status.CREATED, null);
+            }
+        }
+
+        userBulkRepository.insertLdapUsers(created);
+        userBulkRepository.reactivateLdapUsers(reactivated);
+
+        List<String> createdUsernames = created.stream().map(LdapUserDTO::getUsername).collect(Collectors.toList());
+        if (!roleIds.isEmpty()) {
+            List<String> imported = new ArrayList<>(createdUsernames);
+            reactivated.values().forEach(row -> imported.add(row.getUsername()));
+            userBulkRepository.replaceRoles(imported, roleIds);
+        } else {
+            // Default role if none specified; reactivated users keep their roles
+            userBulkRepository.assignRoleToUsersWithoutRoles(createdUsernames, "YAZILIMCI");
+        }
+    }
+
+    private List<LdapUserDTO> searchDirectory(LdapSettings settings, String filter) {
+        String userSearchBase = settings.getUserSearchBase();
+        Name searchBase = (userSearchBase != null && !userSearchBase.isEmpty())
+            ? LdapUtils.newLdapName(userSearchBase)
+            : LdapUtils.emptyLdapName();
+
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(IMPORT_ATTRIBUTES);
+
+        // Paged results must stay on one connection until the last page
+        return SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), operations -> {
+            List<LdapUserDTO> users = new ArrayList<>();
+            PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(importPageSize);
+            do {
+                users.addAll(operations.search(searchBase, filter, controls, (ContextMapper<LdapUserDTO>) ctx -> {
+                    DirContextAdapter adapter = (DirContextAdapter) ctx;
+                    LdapUserDTO dto = new LdapUserDTO();
+                    dto.setUsername(adapter.getStringAttribute("uid"));
+                    dto.setEmail(adapter.getStringAttribute("mail"));
+                    dto.setFullName(adapter.getStringAttribute("cn"));
+                    dto.setCn(adapter.getStringAttribute("cn"));
+                    dto.setSn(adapter.getStringAttribute("sn"));
+                    dto.setGivenName(adapter.getStringAttribute("givenName"));
+                    dto.setLdapDn(adapter.getNameInNamespace());
+                    return dto;
+                }, processor));
+                if (users.size() > maxImportEntries) {
+                    throw new RuntimeException("LDAP search returned more than " + maxImportEntries + " users, narrow the filter");
+                }
+            } while (processor.hasMore());
+            return users;
+        });
+    }
+
+    // Free when it is unowned or owned by the user being written, and not given to an earlier entry
+    private static boolean isEmailAvailable(String email, Long userId, Map<String, Long> emailOwners,
+                                            Set<String> claimedEmails) {
+        Long owner = emailOwners.get(email);
+        return (owner == null || owner.equals(userId)) && claimedEmails.add(email);
+    }
+
+    private void addResult(LdapBulkImportResultDTO result, String username, String ldapDn,
+                           LdapImportResultDTO.Status status, String message) {
+        result.getResults().add(new LdapImportResultDTO(username, ldapDn, status, message));
+        switch (status) {
+            case CREATED -> result.setCreated(result.getCreated() + 1);
+            case REACTIVATED -> result.setReactivated(result.getReactivated() + 1);
+            case ALREADY_EXISTS, NOT_FOUND -> result.setSkipped(result.getSkipped() + 1);
+            case FAILED -> result.setFailed(result.getFailed() + 1);
+        }
+    }
+
     private String getAttributeValue(Attributes attrs, String attributeName) {
         try {
             if (attrs.get(attributeName) != null) {
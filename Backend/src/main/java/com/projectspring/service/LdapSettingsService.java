@@ -1,5 +1,6 @@
 package com.projectspring.service;
 
+import com.projectspring.config.RefreshableLdapContextSource;
 import com.projectspring.dto.LdapSettingsDTO;
 import com.projectspring.dto.LdapTestRequest;
 import com.projectspring.dto.LdapTestResponse;
@@ -13,6 +14,8 @@ import org.springframework.ldap.filter.EqualsFilter;
 import org.springframework.ldap.support.LdapUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -20,12 +23,29 @@ import java.util.Optional;
 @Transactional
 public class LdapSettingsService {
     
+    private static final String SETTINGS_TOPIC = "ldap-settings";
+    
     @Autowired
     private LdapSettingsRepository ldapSettingsRepository;
     
     @Autowired
     private EncryptionService encryptionService;
     
+    @Autowired
+    private RefreshableLdapContextSource ldapContextSource;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    /**
+     * Other replicas rebuild their LDAP connection pool when the settings are changed on one of them.
+     */
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        cacheInvalidationBus.subscribe(SETTINGS_TOPIC, ids ->
+            ldapContextSource.refresh(ldapSettingsRepository.findByIsEnabledTrue().orElse(null)));
+    }
+    
     public LdapSettingsDTO getLdapSettings() {
         Optional<LdapSettings> settingsOpt = ldapSettingsRepository.findByIsEnabledTrue();
         if (settingsOpt.isEmpty()) {
@@ -63,6 +83,8 @@ public class LdapSettingsService {
         settings.setIsEnabled(request.getIsEnabled() != null ? request.getIsEnabled() : false);
         
         LdapSettings saved = ldapSettingsRepository.save(settings);
+        refreshContextSourceAfterCommit(saved);
+        cacheInvalidationBus.publishAll(SETTINGS_TOPIC);
         return convertToDTO(saved);
     }
     
@@ -222,6 +244,23 @@ public class LdapSettingsService {
         }
     }
     
+    /**
+     * Rebuilds the LDAP connection pool with the new settings once they are committed,
+     * so changes take effect without a restart.
+     */
+    private void refreshContextSourceAfterCommit(LdapSettings settings) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ldapContextSource.refresh(settings);
+                }
+            });
+        } else {
+            ldapContextSource.refresh(settings);
+        }
+    }
+    
     private LdapSettingsDTO convertToDTO(LdapSettings settings) {
         LdapSettingsDTO dto = new LdapSettingsDTO();
         dto.setId(settings.getId());
@@ -2,15 +2,19 @@ package com.projectspring.service;
 
 import com.projectspring.model.LoginAttempt;
 import com.projectspring.repository.LoginAttemptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class LoginAttemptService {
@@ -20,6 +24,15 @@ public class LoginAttemptService {
     @Autowired
     private LoginAttemptRepository loginAttemptRepository;
     
+    @Autowired
+    private JobCoordinator jobCoordinator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${app.security.rate-limit.max-attempts:5}")
     private int maxAttempts;
     
@@ -32,6 +45,24 @@ public class LoginAttemptService {
     @Value("${app.security.account-lockout.lockout-duration-minutes:30}")
     private int lockoutDurationMinutes;
     
+    @Value("${app.security.login-attempts.retention-hours:24}")
+    private int retentionHours;
+    
+    @Value("${app.security.login-attempts.purge-batch-size:5000}")
+    private int purgeBatchSize;
+    
+    @Value("${app.security.login-attempts.purge-pause-ms:50}")
+    private long purgePauseMs;
+    
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        // The purge advances by this many ids per range; zero or less would never finish
+        if (purgeBatchSize <= 0) {
+            throw new IllegalStateException(
+                "app.security.login-attempts.purge-batch-size must be positive, was " + purgeBatchSize);
+        }
+    }
+    
     public void recordLoginAttempt(String username, String ipAddress, boolean success) {
         LoginAttempt attempt = new LoginAttempt();
         attempt.setUsername(username);
@@ -70,11 +101,55 @@ public class LoginAttemptService {
     }
     
     @Scheduled(fixedRate = 3600000) // Run every hour
-    @Transactional
     public void cleanupOldAttempts() {
-        // Keep attempts for last 24 hours
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        loginAttemptRepository.deleteByAttemptTimeBefore(cutoff);
+        try {
+            // Replicas start their hourly timers at different moments; only one of them cleans up per hour
+            jobCoordinator.runExclusive("login-attempts-cleanup", Duration.ofMinutes(55), this::purgeOldAttempts);
+        } catch (Exception e) {
+            logger.error("Login attempt cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Deletes attempts older than the retention period with plain DELETEs over consecutive primary
+     * key ranges, one short transaction per range and a pause in between, so a purge after a
+     * brute-force burst neither loads the rows nor holds long locks. Returns the rows deleted.
+     */
+    public int purgeOldAttempts() {
+        // Rate limiting and lockout look back this far, so never purge more recent attempts
+        long retentionMinutes = Math.max(TimeUnit.HOURS.toMinutes(retentionHours),
+            Math.max(windowMinutes, lockoutDurationMinutes));
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        Long minId = loginAttemptRepository.findMinId();
+        Long maxId = loginAttemptRepository.findNewestIdBefore(cutoff);
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        
+        long started = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int purged = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += purgeBatchSize) {
+            long from = fromId;
+            long to = Math.min(fromId + purgeBatchSize, maxId + 1);
+            Integer deleted = transactionTemplate.execute(status ->
+                loginAttemptRepository.deleteRangeBefore(from, to, cutoff));
+            int count = deleted != null ? deleted : 0;
+            purged += count;
+            meterRegistry.counter("app.login_attempts.purged").increment(count);
+            if (purgePauseMs > 0 && to <= maxId) {
+                try {
+                    Thread.sleep(purgePauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Login attempt purge interrupted after {} rows", purged);
+                    return purged;
+                }
+            }
+        }
+        logger.info("Purged {} login attempts older than {} (ids {}-{}) in {} ms",
+            purged, cutoff, minId, maxId, System.currentTimeMillis() - started);
+        return purged;
     }
 }
 
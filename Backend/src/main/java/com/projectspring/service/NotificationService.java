@@ -0,0 +1,255 @@
+package com.projectspring.service;
+
+import com.projectspring.dto.NotificationDTO;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.event.TaskChangeEvent;
+import com.projectspring.event.TaskDeadlineEvent;
+import com.projectspring.event.TasksOverdueEvent;
+import com.projectspring.model.User;
+import com.projectspring.model.enums.NotificationType;
+import com.projectspring.repository.NotificationRepository;
+import com.projectspring.repository.NotificationRepository.OutboxEvent;
+import com.projectspring.repository.NotificationRepository.PendingNotification;
+import com.projectspring.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Notifications for task assignments, edits, status changes and deadlines. A task write only adds
+ * one row to notification_outbox, in its own transaction; a dispatcher on every replica turns the
+ * outbox into per-user notifications in batches. Events for a task a user has not read yet are
+ * merged into the existing notification (ten edits are one "updated" notification with a count of
+ * ten), and the unread count comes from a counter row maintained alongside.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.batch-size:500}")
+    private int batchSize;
+
+    // Upper bound on batches per dispatch run, so one run cannot hold the scheduler thread forever
+    @Value("${app.notifications.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.notifications.retention-days:90}")
+    private int retentionDays;
+
+    /**
+     * Writes the outbox row before the task change commits, so the change and its notifications
+     * are stored together or not at all.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TaskDTO previous = event.previous();
+        TaskDTO current = event.current();
+        switch (event.type()) {
+            case CREATED -> record(NotificationType.TASK_ASSIGNED, current, null, event.actorId(), assignees(current));
+            case UPDATED -> {
+                Set<Long> added = assignees(current);
+                added.removeAll(assignees(previous));
+                Set<Long> kept = assignees(current);
+                kept.retainAll(assignees(previous));
+                record(NotificationType.TASK_ASSIGNED, current, null, event.actorId(), added);
+                record(NotificationType.TASK_UPDATED, current, null, event.actorId(), kept);
+            }
+            case STATUS_CHANGED -> {
+                Set<Long> recipients = assignees(current);
+                recipients.add(current.getCreatedById());
+                record(NotificationType.STATUS_CHANGED, current, current.getStatus().name(), event.actorId(), recipients);
+            }
+            case DELETED -> {
+                // Nothing to open any more
+            }
+        }
+    }
+
+    /**
+     * Published inside the transaction that claims the warning, so the claim and its outbox row
+     * commit together. Assignees are looked up at dispatch time.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskDeadline(TaskDeadlineEvent event) {
+        if (!enabled) {
+            return;
+        }
+        notificationRepository.insertOutbox(NotificationType.DEADLINE_APPROACHING, event.taskId(), event.title(),
+            String.valueOf(event.endDate()), null, null);
+    }
+
+    /**
+     * One outbox row per task marked OVERDUE, written before the marking transaction commits.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTasksOverdue(TasksOverdueEvent event) {
+        if (!enabled) {
+            return;
+        }
+        notificationRepository.insertOutbox(NotificationType.TASK_OVERDUE, event.tasks().stream()
+            .map(task -> new NotificationRepository.OutboxTask(task.taskId(), task.title()))
+            .toList());
+    }
+
+    /**
+     * Turns pending outbox events into notifications. Every replica runs it; each batch locks its
+     * outbox rows with SKIP LOCKED, so replicas split the backlog instead of duplicating it.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch-interval-ms:5000}",
+               initialDelayString = "${app.notifications.dispatch-interval-ms:5000}")
+    public void dispatchOutbox() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer claimed = transaction.execute(status -> dispatchBatch());
+                if (claimed == null || claimed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // The batch's outbox rows were rolled back and are retried on the next run
+            meterRegistry.counter("app.notifications.dispatch.failures").increment();
+            logger.error("Notification dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.notifications.cleanup-cron:0 45 3 * * ?}")
+    public void cleanupReadNotifications() {
+        try {
+            jobCoordinator.runExclusive("notifications-cleanup", Duration.ofHours(1),
+                () -> notificationRepository.deleteReadBefore(LocalDateTime.now().minusDays(retentionDays)));
+        } catch (Exception e) {
+            logger.error("Notification cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public List<NotificationDTO> getNotifications(boolean unreadOnly, int limit) {
+        return notificationRepository.findByUser(getCurrentUser().getId(), unreadOnly,
+            Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
+    public int getUnreadCount() {
+        return notificationRepository.getUnreadCount(getCurrentUser().getId());
+    }
+
+    /**
+     * Marks the notification as read and returns the new unread count.
+     */
+    public int markRead(Long notificationId) {
+        Long userId = getCurrentUser().getId();
+        notificationRepository.markRead(userId, notificationId);
+        return notificationRepository.getUnreadCount(userId);
+    }
+
+    public int markAllRead() {
+        Long userId = getCurrentUser().getId();
+        notificationRepository.markAllRead(userId);
+        return notificationRepository.getUnreadCount(userId);
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> events = notificationRepository.claimOutboxBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        // Events of the batch for the same user, task and type become one notification with the
+        // latest message; the upsert then merges it into an unread one from earlier batches
+        Map<List<Object>, PendingNotification> merged = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            String message = message(event.type(), event.taskTitle(), event.detail());
+            for (Long userId : new LinkedHashSet<>(event.recipientIds())) {
+                if (userId == null || userId.equals(event.actorId())) {
+                    continue;
+                }
+                merged.merge(List.of(userId, event.type(), event.taskId()),
+                    new PendingNotification(userId, event.type(), event.taskId(), message, 1),
+                    (earlier, later) -> new PendingNotification(userId, event.type(), event.taskId(),
+                        later.message(), earlier.eventCount() + 1));
+            }
+        }
+        int created = notificationRepository.upsertNotifications(new ArrayList<>(merged.values()));
+        meterRegistry.counter("app.notifications.outbox.dispatched").increment(events.size());
+        meterRegistry.counter("app.notifications.created").increment(created);
+        return events.size();
+    }
+
+    private void record(NotificationType type, TaskDTO task, String detail, Long actorId, Collection<Long> recipients) {
+        recipients.removeIf(userId -> userId == null || userId.equals(actorId));
+        if (!recipients.isEmpty()) {
+            notificationRepository.insertOutbox(type, task.getId(), task.getTitle(), detail, actorId, recipients);
+        }
+    }
+
+    private static Set<Long> assignees(TaskDTO task) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (task != null && task.getAssigneeIds() != null) {
+            task.getAssigneeIds().stream().filter(Objects::nonNull).forEach(ids::add);
+        }
+        return ids;
+    }
+
+    private static String message(NotificationType type, String title, String detail) {
+        return switch (type) {
+            case TASK_ASSIGNED -> "You were assigned to \"" + title + "\"";
+            case TASK_UPDATED -> "\"" + title + "\" was updated";
+            case STATUS_CHANGED -> "\"" + title + "\" moved to " + detail;
+            case DEADLINE_APPROACHING -> "\"" + title + "\" is due on " + detail;
+            case TASK_OVERDUE -> "\"" + title + "\" is overdue";
+        };
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
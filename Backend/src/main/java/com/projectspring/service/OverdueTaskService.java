@@ -1,39 +1,158 @@
 package com.projectspring.service;
 
-import com.projectspring.model.Task;
-import com.projectspring.model.TaskStatusHistory;
+import com.projectspring.dto.OverdueSweepResultDTO;
+import com.projectspring.event.TasksOverdueEvent;
 import com.projectspring.model.User;
-import com.projectspring.model.enums.TaskStatus;
-import com.projectspring.repository.TaskRepository;
-import com.projectspring.repository.TaskStatusHistoryRepository;
+import com.projectspring.repository.TaskBulkRepository;
+import com.projectspring.repository.TaskBulkRepository.TaskDeadline;
 import com.projectspring.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Marks tasks whose end date has passed as OVERDUE. TaskDeadlineScheduler does this at midnight
+ * for the tasks it tracks; the nightly sweep here reconciles whatever it missed. Each sweep batch
+ * is one set-based statement in its own transaction, so a run never holds more than one batch of
+ * row locks and a failed run keeps the batches it committed; the next run picks up the remaining
+ * tasks from the same predicate.
+ *
+ * Both paths announce what they marked inside the marking transaction (TasksOverdueEvent and the
+ * team tasks topic), so notifications, SSE streams and other replicas see every transition.
+ */
 @Service
 public class OverdueTaskService {
-    
-    @Autowired
-    private TaskRepository taskRepository;
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueTaskService.class);
+
+    private static final String CHANGE_REASON = "Automatically marked as overdue";
+
     @Autowired
-    private TaskStatusHistoryRepository statusHistoryRepository;
-    
+    private TaskBulkRepository taskBulkRepository;
+
     @Autowired
     private UserRepository userRepository;
-    
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.overdue.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.overdue.shards:4}")
+    private int shards;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
     @Scheduled(cron = "0 0 1 * * ?") // Her gün saat 01:00'da çalışır
-    @Transactional
     public void updateOverdueTasks() {
-        LocalDate today = LocalDate.now();
-        List<Task> overdueTasks = taskRepository.findOverdueTasks(today);
-        
-        User systemUser = userRepository.findByUsername("system")
+        try {
+            // Replicas split the shards between them; a shard swept tonight stays locked for an hour
+            jobCoordinator.runSharded("overdue-sweep", shards, Duration.ofHours(1),
+                (shard, shardCount) -> runSweep(shard, shardCount).getTasksMarked());
+        } catch (Exception e) {
+            logger.error("Overdue sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sweeps the tasks of one shard ({@code team_id % shardCount = shard}); (0, 1) sweeps all tasks.
+     */
+    public OverdueSweepResultDTO runSweep(int shard, int shardCount) {
+        OverdueSweepResultDTO result = new OverdueSweepResultDTO();
+        if (!runLock.tryLock()) {
+            result.setMessage("Overdue sweep is already running");
+            return result;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            LocalDate today = LocalDate.now();
+            Long systemUserId = getSystemUser().getId();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            int marked;
+            do {
+                marked = transactionTemplate.execute(status -> announce(
+                    taskBulkRepository.markOverdueBatch(today, systemUserId, CHANGE_REASON, batchSize,
+                        shard, shardCount))).size();
+                result.setBatches(result.getBatches() + 1);
+                result.setTasksMarked(result.getTasksMarked() + marked);
+                meterRegistry.counter("app.overdue.tasks.marked").increment(marked);
+            } while (marked == batchSize);
+
+            result.setExecuted(true);
+            result.setDurationMs(System.currentTimeMillis() - started);
+            result.setMessage("Overdue sweep completed");
+            logger.info("Overdue sweep of shard {}/{} finished: {} task(s) marked in {} batch(es), {} ms",
+                shard, shardCount, result.getTasksMarked(), result.getBatches(), result.getDurationMs());
+            return result;
+        } catch (RuntimeException e) {
+            logger.warn("Overdue sweep of shard {}/{} stopped after {} task(s) in {} batch(es), {} ms; the next run resumes",
+                shard, shardCount, result.getTasksMarked(), result.getBatches(), System.currentTimeMillis() - started);
+            throw e;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the given tasks OVERDUE if they are still open and past their end date, in one
+     * transaction. Used by TaskDeadlineScheduler; returns the tasks that were marked.
+     */
+    public List<TaskDeadline> markOverdue(Collection<Long> taskIds) {
+        Long systemUserId = getSystemUser().getId();
+        List<TaskDeadline> marked = new TransactionTemplate(transactionManager).execute(status ->
+            announce(taskBulkRepository.markOverdue(taskIds, LocalDate.now(), systemUserId, CHANGE_REASON)));
+        meterRegistry.counter("app.overdue.tasks.marked").increment(marked.size());
+        return marked;
+    }
+
+    /**
+     * Publishes the tasks just marked while the marking transaction is still open, so their
+     * notification outbox rows commit with the status change, and tells the other replicas once
+     * it commits. Returns {@code marked}.
+     */
+    private List<TaskDeadline> announce(List<TaskDeadline> marked) {
+        if (marked.isEmpty()) {
+            return marked;
+        }
+        eventPublisher.publishEvent(new TasksOverdueEvent(marked.stream()
+            .map(task -> new TasksOverdueEvent.OverdueTask(task.id(), task.title(), task.teamId()))
+            .toList()));
+        // Other replicas refresh the teams' streams. TASKS_TOPIC is left out: their deadline queues
+        // drop these tasks when the entries fire, and a sweep batch is too many ids to send anyway.
+        cacheInvalidationBus.publish(TaskService.TEAM_TASKS_TOPIC,
+            marked.stream().map(TaskDeadline::teamId).distinct().toList());
+        return marked;
+    }
+
+    private User getSystemUser() {
+        return userRepository.findByUsername("system")
             .orElseGet(() -> {
                 User user = new User();
                 user.setUsername("system");
@@ -42,27 +161,5 @@ public class OverdueTaskService {
                 user.setIsActive(false);
                 return userRepository.save(user);
             });
-        
-        for (Task task : overdueTasks) {
-            if (task.getStatus() != TaskStatus.COMPLETED && 
-                task.getStatus() != TaskStatus.CANCELLED &&
-                task.getStatus() != TaskStatus.TESTING &&
-                task.getStatus() != TaskStatus.OVERDUE) {
-                
-                TaskStatus oldStatus = task.getStatus();
-                task.setStatus(TaskStatus.OVERDUE);
-                taskRepository.save(task);
-                
-                // Status history
-                TaskStatusHistory history = new TaskStatusHistory();
-                history.setTask(task);
-                history.setOldStatus(oldStatus.name());
-                history.setNewStatus(TaskStatus.OVERDUE.name());
-                history.setChangedBy(systemUser);
-                history.setChangeReason("Automatically marked as overdue");
-                statusHistoryRepository.save(history);
-            }
-        }
     }
 }
-
@@ -8,6 +8,7 @@ import com.projectspring.model.User;
 import com.projectspring.model.enums.ProjectStatus;
 import com.projectspring.model.enums.Role;
 import com.projectspring.repository.ProjectRepository;
+import com.projectspring.repository.ProjectSummaryRepository;
 import com.projectspring.repository.TaskRepository;
 import com.projectspring.repository.TeamRepository;
 import com.projectspring.repository.UserRepository;
@@ -18,7 +19,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,6 +31,10 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProjectService {
     
+    // Statuses the overdue sweep leaves alone
+    private static final Set<TaskStatus> CLOSED_STATUSES =
+        EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED, TaskStatus.TESTING, TaskStatus.OVERDUE);
+    
     @Autowired
     private ProjectRepository projectRepository;
     
@@ -41,29 +50,30 @@ public class ProjectService {
     @Autowired
     private TaskRepository taskRepository;
     
-    public List<ProjectDTO> getAllProjects() {
+    @Autowired
+    private ProjectSummaryRepository projectSummaryRepository;
+    
+    /**
+     * Lists the visible projects with teams and task counts from a single query.
+     */
+    public List<ProjectDTO> getAllProjects(boolean includeBreakdown) {
         try {
             User currentUser = getCurrentUser();
-            List<Long> accessibleTeamIds = teamService.getAccessibleTeamIds();
             
             // Yönetici tüm projeleri görebilir
             if (hasRole(currentUser, Role.ADMIN)) {
-                return projectRepository.findAll().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+                return projectSummaryRepository.findSummaries(null, includeBreakdown);
             }
             
             // Diğer kullanıcılar sadece kendi ekiplerinin projelerini görebilir
-            return projectRepository.findByTeamIds(accessibleTeamIds).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+            return projectSummaryRepository.findSummaries(teamService.getAccessibleTeamIds(), includeBreakdown);
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Failed to fetch projects: " + e.getMessage(), e);
         }
     }
     
-    public ProjectDTO getProjectById(Long id) {
+    public ProjectDTO getProjectById(Long id, boolean includeBreakdown) {
         Project project = projectRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Project not found"));
         
@@ -78,7 +88,7 @@ public class ProjectService {
             throw new RuntimeException("Access denied");
         }
         
-        return convertToDTO(project);
+        return convertToDTO(project, includeBreakdown);
     }
     
     public ProjectDTO createProject(CreateProjectRequest request) {
@@ -172,6 +182,10 @@ public class ProjectService {
     }
     
     private ProjectDTO convertToDTO(Project project) {
+        return convertToDTO(project, false);
+    }
+    
+    private ProjectDTO convertToDTO(Project project, boolean includeBreakdown) {
         ProjectDTO dto = new ProjectDTO();
         dto.setId(project.getId());
         dto.setName(project.getName());
@@ -188,23 +202,23 @@ public class ProjectService {
             .map(Team::getName)
             .collect(Collectors.toList()) : new java.util.ArrayList<>());
         
-        // Calculate task counts - handle potential errors gracefully
-        try {
-            Long taskCount = taskRepository.countByProjectId(project.getId());
-            Long completedTaskCount = taskRepository.countByProjectIdAndStatus(project.getId(), TaskStatus.COMPLETED);
-            Long cancelledTaskCount = taskRepository.countByProjectIdAndStatus(project.getId(), TaskStatus.CANCELLED);
-            // Active tasks = total - completed - cancelled
-            Long activeTaskCount = Math.max(0L, taskCount - completedTaskCount - cancelledTaskCount);
-            
-            dto.setTaskCount(taskCount != null ? taskCount : 0L);
-            dto.setCompletedTaskCount(completedTaskCount != null ? completedTaskCount : 0L);
-            dto.setActiveTaskCount(activeTaskCount != null ? activeTaskCount : 0L);
-        } catch (Exception e) {
-            // If task count calculation fails, set defaults
-            dto.setTaskCount(0L);
-            dto.setCompletedTaskCount(0L);
-            dto.setActiveTaskCount(0L);
+        // All task counts in one grouped query: per status, total and past end date
+        long taskCount = 0;
+        long overdueCount = 0;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countByProjectIdGroupByStatus(project.getId(), LocalDate.now())) {
+            TaskStatus status = (TaskStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            long pastEndDate = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+            byStatus.put(status, count);
+            taskCount += count;
+            if (status == TaskStatus.OVERDUE) {
+                overdueCount += count;
+            } else if (!CLOSED_STATUSES.contains(status)) {
+                overdueCount += pastEndDate;
+            }
         }
+        ProjectSummaryRepository.applyTaskCounts(dto, taskCount, byStatus, overdueCount, includeBreakdown);
         
         return dto;
     }
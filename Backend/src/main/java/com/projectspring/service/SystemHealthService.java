@@ -1,6 +1,8 @@
 package com.projectspring.service;
 
 import com.projectspring.dto.SystemHealthDTO;
+import com.projectspring.model.LdapSettings;
+import com.projectspring.util.CircuitBreaker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,12 @@ public class SystemHealthService {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private LdapAuthService ldapAuthService;
+
+    @Autowired
+    private LdapSettingsService ldapSettingsService;
+
     @Value("${server.port:8080}")
     private int serverPort;
 
@@ -53,9 +61,40 @@ public class SystemHealthService {
             health.setFrontendMessage("Frontend is not accessible");
         }
 
+        // LDAP status comes from the login circuit breaker - no extra directory call
+        checkLdap(health);
+
         return health;
     }
 
+    private void checkLdap(SystemHealthDTO health) {
+        LdapSettings settings = ldapSettingsService.getActiveLdapSettings();
+        if (settings == null || !Boolean.TRUE.equals(settings.getIsEnabled())) {
+            health.setLdapStatus(SystemHealthDTO.HealthStatus.UNKNOWN);
+            health.setLdapMessage("LDAP is disabled");
+            return;
+        }
+
+        CircuitBreaker.State state = ldapAuthService.getDirectoryBreakerState();
+        health.setLdapCircuitState(state.name());
+        switch (state) {
+            case CLOSED -> {
+                health.setLdapStatus(SystemHealthDTO.HealthStatus.HEALTHY);
+                health.setLdapMessage("LDAP directory is reachable");
+            }
+            case HALF_OPEN -> {
+                health.setLdapStatus(SystemHealthDTO.HealthStatus.UNKNOWN);
+                health.setLdapMessage("LDAP directory is being probed after failures");
+            }
+            case OPEN -> {
+                health.setLdapStatus(SystemHealthDTO.HealthStatus.UNHEALTHY);
+                health.setLdapMessage("LDAP circuit breaker is open after "
+                    + ldapAuthService.getDirectoryConsecutiveFailures() + " failure(s), logins use local authentication until "
+                    + ldapAuthService.getDirectoryRetryAt() + " (last error: " + ldapAuthService.getDirectoryLastError() + ")");
+            }
+        }
+    }
+
     private SystemHealthDTO.HealthStatus checkDatabase() {
         try (Connection connection = dataSource.getConnection()) {
             if (connection.isValid(5)) { // 5 second timeout
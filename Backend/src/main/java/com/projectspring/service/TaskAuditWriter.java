@@ -0,0 +1,79 @@
+package com.projectspring.service;
+
+import com.projectspring.repository.TaskAuditRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes task audit rows off the request path. TaskLogService appends one task_audit_outbox row
+ * per audited action inside the task's transaction, so an entry exists exactly when the change
+ * was committed, crash or not. This writer expands the outbox into task_logs and
+ * task_status_history in batches of one statement each, on every replica; the batches lock
+ * their rows, so replicas share the backlog without writing anything twice.
+ */
+@Service
+public class TaskAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskAuditWriter.class);
+
+    @Autowired
+    private TaskAuditRepository taskAuditRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.audit.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.tasks.audit.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        Gauge.builder("app.tasks.audit.pending", this, writer -> writer.pendingCount())
+            .description("Task audit entries waiting to be written to task_logs")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.audit.flush-interval-ms:1000}",
+               initialDelayString = "${app.tasks.audit.flush-interval-ms:1000}")
+    public void flush() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer expanded = transaction.execute(status -> taskAuditRepository.expandBatch(batchSize));
+                if (expanded == null || expanded == 0) {
+                    break;
+                }
+                meterRegistry.counter("app.tasks.audit.written").increment(expanded);
+                if (expanded < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // The failed batch stays in the outbox and is retried on the next run
+            meterRegistry.counter("app.tasks.audit.failures").increment();
+            logger.error("Writing task audit entries failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // The outbox is drained every second, so counting it is cheap
+    private double pendingCount() {
+        try {
+            return taskAuditRepository.countPending();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.projectspring.service;
+
+import com.projectspring.event.TaskDeadlineEvent;
+import com.projectspring.model.Task;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.repository.TaskBulkRepository;
+import com.projectspring.repository.TaskBulkRepository.TaskDeadline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires "deadline approaching" events and OVERDUE transitions at the moment they are due instead
+ * of waiting for the nightly sweep. Open tasks ending within the horizon are kept in a priority
+ * queue ordered by their next deadline; TaskService updates it on every create, update, status
+ * change and delete, and a single timer thread sleeps until the head is due.
+ *
+ * A queue entry is only a hint: when it fires the task is re-checked in the database, so a stale
+ * entry does nothing. The queue is rebuilt at startup and once a day. A rebuild queues the warning
+ * right away for every task already past its warning moment, so one missed while the instance was
+ * down is still sent; the claim in task_deadline_warnings drops the ones that already went out.
+ * OverdueTaskService's nightly sweep still catches anything missed (tasks beyond the tracking
+ * limit, failed batches).
+ */
+@Service
+public class TaskDeadlineScheduler implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    private static final Set<TaskStatus> CLOSED_STATUSES =
+        EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED, TaskStatus.TESTING, TaskStatus.OVERDUE);
+
+    // Upper bound on one sleep, so wall-clock changes (NTP, DST) are picked up within this time
+    private static final long MAX_SLEEP_MS = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private TaskBulkRepository taskBulkRepository;
+
+    @Autowired
+    private OverdueTaskService overdueTaskService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.deadlines.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.deadlines.horizon-days:7}")
+    private int horizonDays;
+
+    @Value("${app.deadlines.warning-days:1}")
+    private int warningDays;
+
+    @Value("${app.deadlines.max-tracked:100000}")
+    private int maxTracked;
+
+    @Value("${app.overdue.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Entries are never removed from the heap directly: the map holds the live entry per task and
+    // anything else is skipped when it reaches the head (lazy deletion keeps every update O(log n))
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparing(Deadline::at));
+    private final Map<Long, Deadline> live = new HashMap<>();
+    private LocalDate horizon;
+    private ScheduledFuture<?> wakeup;
+    private Instant wakeupAt;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "task-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("app.deadlines.tracked", this, scheduler -> scheduler.trackedCount())
+            .description("Open tasks waiting for their deadline in the in-memory queue")
+            .register(meterRegistry);
+        // Tasks changed on another replica: re-read them so this queue matches what a reload would build
+        cacheInvalidationBus.subscribe(TaskService.TASKS_TOPIC, ids -> {
+            if (ids.isEmpty()) {
+                reload();
+            } else {
+                refresh(ids);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+    }
+
+    /**
+     * Rebuilds the queue from the database: every open task ending before today + horizon-days.
+     * Also moves the horizon forward, which is why it runs daily.
+     */
+    @Scheduled(cron = "${app.deadlines.reload-cron:0 30 1 * * ?}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDate until = LocalDate.now(zone).plusDays(horizonDays);
+            List<TaskDeadline> tasks = taskBulkRepository.findOpenDeadlines(until, maxTracked);
+            synchronized (this) {
+                queue.clear();
+                live.clear();
+                horizon = until;
+                for (TaskDeadline task : tasks) {
+                    enqueue(task, true);
+                }
+                rearm();
+            }
+            if (tasks.size() >= maxTracked) {
+                logger.warn("Deadline scheduler is tracking the maximum of {} tasks; later deadlines are left to the nightly sweep",
+                    maxTracked);
+            }
+            logger.info("Deadline scheduler loaded {} open task(s) ending before {}", tasks.size(), until);
+        } catch (RuntimeException e) {
+            logger.error("Deadline scheduler reload failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) the task's next deadline after the current transaction commits,
+     * and drops it when the task is closed. With {@code endDateChanged} a task whose warning
+     * moment has already passed gets its "approaching" event right away.
+     */
+    public void track(Task task, boolean endDateChanged) {
+        if (!enabled || task.getId() == null) {
+            return;
+        }
+        Long taskId = task.getId();
+        if (task.getEndDate() == null || CLOSED_STATUSES.contains(task.getStatus())) {
+            afterCommit(() -> untrackNow(taskId));
+            return;
+        }
+        TaskDeadline deadline = new TaskDeadline(taskId, task.getTitle(),
+            task.getTeam() != null ? task.getTeam().getId() : null, task.getEndDate());
+        afterCommit(() -> {
+            synchronized (this) {
+                if (horizon == null || !deadline.endDate().isBefore(horizon)) {
+                    // Beyond the horizon: the daily reload picks it up
+                    live.remove(taskId);
+                    return;
+                }
+                enqueue(deadline, endDateChanged);
+                rearm();
+            }
+        });
+    }
+
+    public void untrack(Long taskId) {
+        if (enabled) {
+            afterCommit(() -> untrackNow(taskId));
+        }
+    }
+
+    private void refresh(Set<Long> taskIds) {
+        if (!enabled) {
+            return;
+        }
+        List<TaskDeadline> open = taskBulkRepository.findOpenDeadlines(taskIds);
+        synchronized (this) {
+            taskIds.forEach(live::remove);
+            if (horizon == null) {
+                return;
+            }
+            for (TaskDeadline task : open) {
+                if (task.endDate().isBefore(horizon)) {
+                    enqueue(task, true);
+                }
+            }
+            rearm();
+        }
+    }
+
+    private synchronized void untrackNow(Long taskId) {
+        live.remove(taskId);
+    }
+
+    private synchronized int trackedCount() {
+        return live.size();
+    }
+
+    private void enqueue(TaskDeadline task, boolean warnNow) {
+        Instant now = Instant.now();
+        Instant overdueAt = task.endDate().plusDays(1).atStartOfDay(zone).toInstant();
+        Instant warnAt = task.endDate().minusDays(warningDays).atStartOfDay(zone).toInstant();
+        Deadline deadline;
+        if (warnAt.isAfter(now)) {
+            deadline = new Deadline(task, Stage.APPROACHING, warnAt);
+        } else if (warnNow && overdueAt.isAfter(now)) {
+            deadline = new Deadline(task, Stage.APPROACHING, now);
+        } else {
+            deadline = new Deadline(task, Stage.OVERDUE, overdueAt);
+        }
+        live.put(task.id(), deadline);
+        queue.add(deadline);
+        if (queue.size() > 2 * live.size() + 1024) {
+            // Mostly stale entries (tasks edited many times): rebuild from the live ones
+            queue.clear();
+            queue.addAll(live.values());
+        }
+    }
+
+    // Caller holds the lock
+    private void rearm() {
+        while (!queue.isEmpty() && live.get(queue.peek().task().id()) != queue.peek()) {
+            queue.poll();
+        }
+        if (queue.isEmpty()) {
+            return;
+        }
+        Instant next = queue.peek().at();
+        if (wakeup != null && !wakeup.isDone() && wakeupAt != null && !next.isBefore(wakeupAt)) {
+            return;
+        }
+        if (wakeup != null) {
+            wakeup.cancel(false);
+        }
+        long delayMs = Math.min(Math.max(0, next.toEpochMilli() - System.currentTimeMillis()), MAX_SLEEP_MS);
+        wakeupAt = Instant.now().plusMillis(delayMs);
+        wakeup = timer.schedule(this::fireDue, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void fireDue() {
+        List<TaskDeadline> approaching = new ArrayList<>();
+        List<TaskDeadline> overdue = new ArrayList<>();
+        synchronized (this) {
+            wakeup = null;
+            Instant now = Instant.now();
+            while (!queue.isEmpty() && !queue.peek().at().isAfter(now)) {
+                Deadline deadline = queue.poll();
+                if (live.get(deadline.task().id()) != deadline) {
+                    continue;
+                }
+                if (deadline.type() == Stage.APPROACHING) {
+                    approaching.add(deadline.task());
+                    // Next stop for this task is the overdue transition
+                    Deadline next = new Deadline(deadline.task(), Stage.OVERDUE,
+                        deadline.task().endDate().plusDays(1).atStartOfDay(zone).toInstant());
+                    live.put(deadline.task().id(), next);
+                    queue.add(next);
+                } else {
+                    live.remove(deadline.task().id());
+                    overdue.add(deadline.task());
+                }
+            }
+        }
+        try {
+            publishApproaching(approaching);
+            markOverdue(overdue);
+        } catch (RuntimeException e) {
+            // Overdue transitions that did not happen are left to the nightly sweep
+            logger.error("Deadline scheduler failed to fire {} deadline(s): {}",
+                approaching.size() + overdue.size(), e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                rearm();
+            }
+        }
+    }
+
+    private void publishApproaching(List<TaskDeadline> due) {
+        Map<LocalDate, List<Long>> idsByEndDate = new LinkedHashMap<>();
+        due.forEach(task -> idsByEndDate.computeIfAbsent(task.endDate(), date -> new ArrayList<>()).add(task.id()));
+        idsByEndDate.forEach((endDate, ids) -> {
+            // Every replica fires the same deadline: the claim re-checks the task (closed or moved
+            // since it was queued gets no warning) and hands each warning to one replica only. The
+            // listeners write their outbox rows in the claiming transaction.
+            transactionTemplate.executeWithoutResult(status -> {
+                for (TaskDeadline task : taskBulkRepository.claimDeadlineWarnings(ids, endDate)) {
+                    meterRegistry.counter("app.deadlines.events", "type", Stage.APPROACHING.name()).increment();
+                    eventPublisher.publishEvent(new TaskDeadlineEvent(task.id(), task.title(), task.teamId(), task.endDate()));
+                }
+            });
+        });
+    }
+
+    private void markOverdue(List<TaskDeadline> due) {
+        List<Long> ids = due.stream().map(TaskDeadline::id).distinct().toList();
+        int markedCount = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            // OverdueTaskService announces the transitions inside its marking transaction
+            int marked = overdueTaskService.markOverdue(ids.subList(from, Math.min(from + batchSize, ids.size()))).size();
+            meterRegistry.counter("app.deadlines.events", "type", Stage.OVERDUE.name()).increment(marked);
+            markedCount += marked;
+        }
+        if (!ids.isEmpty()) {
+            logger.info("Deadline scheduler marked {} of {} due task(s) overdue", markedCount, ids.size());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+    private enum Stage {
+        APPROACHING,
+        OVERDUE
+    }
+
+    private record Deadline(TaskDeadline task, Stage type, Instant at) {
+    }
+}
@@ -0,0 +1,380 @@
+package com.projectspring.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectspring.dto.TaskDTO;
+import com.projectspring.event.TaskChangeEvent;
+import com.projectspring.event.TasksOverdueEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes task changes to the browsers showing them (GET /api/tasks/stream). TaskService publishes
+ * a TaskChangeEvent per write; after commit it becomes one stream event per affected team, kept
+ * in a bounded replay buffer and handed to the connections subscribed to that team.
+ *
+ * Connections do not hold a request thread: each has a small queue that a few sender threads
+ * drain, so one slow client cannot hold up the others. A client that falls too far behind is
+ * disconnected and resumes from its Last-Event-ID. Event ids carry an epoch that changes on
+ * every start, so a client resuming from another instance (or from before a restart) gets a
+ * "reset" event telling it to reload instead of a silent gap.
+ *
+ * Changes made on other replicas arrive through CacheInvalidationBus as team ids only and are
+ * streamed as "refresh" events for those teams.
+ */
+@Service
+public class TaskEventHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventHub.class);
+
+    // Fields a status change can touch
+    private static final List<String> STATUS_FIELDS = List.of("id", "status", "isPostponed", "postponedToDate", "postponedFromDate");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.tasks.stream.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${app.tasks.stream.max-connections:5000}")
+    private int maxConnections;
+
+    @Value("${app.tasks.stream.max-pending-events:500}")
+    private int maxPendingEvents;
+
+    @Value("${app.tasks.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.tasks.stream.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${app.tasks.stream.send-threads:4}")
+    private int sendThreads;
+
+    // Queued as a comment line; ArrayDeque does not take nulls
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Guarded by "this": appending an event and registering a subscriber are atomic with respect
+    // to each other, so a resuming client gets neither a gap nor a duplicate
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+    private long sequence;
+
+    private final Map<Long, Set<Subscription>> subscriptionsByTeam = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeat;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(Math.max(1, sendThreads), r -> {
+            Thread thread = new Thread(r, "task-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comment lines keep proxies from closing idle connections and reveal dead ones
+        heartbeat.scheduleAtFixedRate(() -> subscriptions.forEach(subscription -> subscription.offer(HEARTBEAT)),
+            heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        Gauge.builder("app.tasks.stream.connections", subscriptions, Set::size)
+            .description("Open task change streams")
+            .register(meterRegistry);
+
+        cacheInvalidationBus.subscribe(TaskService.TEAM_TASKS_TOPIC, teamIds -> {
+            if (teamIds.isEmpty()) {
+                append(null, "refresh", Map.of());
+            } else {
+                teamIds.forEach(teamId -> append(teamId, "refresh", Map.of("teamId", teamId)));
+            }
+        });
+    }
+
+    /**
+     * Opens a stream of the changes to tasks of the given teams. With {@code lastEventId} the
+     * events after it are replayed first, or a "reset" event is sent if they are no longer buffered.
+     */
+    public SseEmitter subscribe(Collection<Long> teamIds, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscription subscription = new Subscription(emitter, Set.copyOf(teamIds));
+        emitter.onCompletion(() -> remove(subscription));
+        // Completing ends the response normally; otherwise MVC raises AsyncRequestTimeoutException
+        // on an already committed event stream. Clients reconnect with their Last-Event-ID.
+        emitter.onTimeout(() -> {
+            remove(subscription);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(subscription));
+
+        synchronized (this) {
+            if (subscriptions.size() >= maxConnections) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open task streams");
+            }
+            // Opening comment: flushes the response headers so the client sees the stream as open
+            subscription.offer(HEARTBEAT);
+            replayTo(subscription, lastEventId);
+            subscriptions.add(subscription);
+            subscription.teamIds.forEach(teamId ->
+                subscriptionsByTeam.computeIfAbsent(teamId, key -> ConcurrentHashMap.newKeySet()).add(subscription));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        TaskDTO previous = event.previous();
+        TaskDTO current = event.current();
+        switch (event.type()) {
+            case CREATED -> append(current.getTeamId(), "created", payload(current.getId(), current.getTeamId(), toMap(current)));
+            case STATUS_CHANGED -> {
+                Map<String, Object> fields = toMap(current);
+                fields.keySet().retainAll(STATUS_FIELDS);
+                append(current.getTeamId(), "status", payload(current.getId(), current.getTeamId(), fields));
+            }
+            case UPDATED -> {
+                if (!Objects.equals(previous.getTeamId(), current.getTeamId())) {
+                    // Moved: gone for the old team, new for the new one
+                    append(previous.getTeamId(), "deleted", payload(previous.getId(), previous.getTeamId(), null));
+                    append(current.getTeamId(), "created", payload(current.getId(), current.getTeamId(), toMap(current)));
+                } else {
+                    append(current.getTeamId(), "updated", payload(current.getId(), current.getTeamId(), delta(previous, current)));
+                }
+            }
+            case DELETED -> append(previous.getTeamId(), "deleted", payload(previous.getId(), previous.getTeamId(), null));
+        }
+    }
+
+    /**
+     * Tasks marked OVERDUE by the deadline scheduler or the nightly sweep: possibly thousands at
+     * once, so each affected team gets one "refresh" instead of a "status" event per task.
+     */
+    @TransactionalEventListener
+    public void onTasksOverdue(TasksOverdueEvent event) {
+        event.tasks().stream()
+            .map(TasksOverdueEvent.OverdueTask::teamId)
+            .distinct()
+            .forEach(teamId -> append(teamId, "refresh", Map.of("teamId", teamId)));
+    }
+
+    private Map<String, Object> payload(Long taskId, Long teamId, Map<String, Object> task) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", taskId);
+        payload.put("teamId", teamId);
+        if (task != null) {
+            payload.put("task", task);
+        }
+        return payload;
+    }
+
+    // Only the fields that changed, plus the id
+    private Map<String, Object> delta(TaskDTO previous, TaskDTO current) {
+        Map<String, Object> before = toMap(previous);
+        Map<String, Object> after = toMap(current);
+        Map<String, Object> changed = new LinkedHashMap<>();
+        changed.put("id", current.getId());
+        after.forEach((field, value) -> {
+            if (!Objects.equals(before.get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        return changed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(TaskDTO task) {
+        return new LinkedHashMap<>(objectMapper.convertValue(task, Map.class));
+    }
+
+    /**
+     * Buffers the event and queues it for every connection of the team ({@code teamId} null: all).
+     */
+    private void append(Long teamId, String name, Map<String, Object> data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize task stream event {}: {}", name, e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            StreamEvent event = new StreamEvent(++sequence, teamId, name, json);
+            replay.addLast(event);
+            while (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            Collection<Subscription> targets = teamId == null ? subscriptions
+                : subscriptionsByTeam.getOrDefault(teamId, Set.of());
+            targets.forEach(subscription -> subscription.offer(event));
+        }
+        meterRegistry.counter("app.tasks.stream.events", "type", name).increment();
+    }
+
+    // Caller holds the lock
+    private void replayTo(Subscription subscription, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long lastSequence = parseSequence(lastEventId);
+        long oldestBuffered = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence();
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < oldestBuffered) {
+            subscription.offer(new StreamEvent(sequence, null, "reset", "{}"));
+            meterRegistry.counter("app.tasks.stream.resets").increment();
+            return;
+        }
+        for (StreamEvent event : replay) {
+            if (event.sequence() > lastSequence) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    // -1 when the id is malformed or from another epoch
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.teamIds.forEach(teamId -> {
+                Set<Subscription> team = subscriptionsByTeam.get(teamId);
+                if (team != null) {
+                    team.remove(subscription);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        sender.shutdown();
+    }
+
+    private record StreamEvent(long sequence, Long teamId, String name, String json) {
+    }
+
+    private class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<Long> teamIds;
+        private final Deque<StreamEvent> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(SseEmitter emitter, Set<Long> teamIds) {
+            this.emitter = emitter;
+            this.teamIds = teamIds;
+        }
+
+        void offer(StreamEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingEvents) {
+                    // Too slow: drop the connection, the client resumes from its Last-Event-ID
+                    closed = true;
+                    pending.clear();
+                    meterRegistry.counter("app.tasks.stream.dropped").increment();
+                    sender.execute(emitter::complete);
+                    remove(this);
+                    return;
+                }
+                if (event == HEARTBEAT && !pending.isEmpty()) {
+                    return;
+                }
+                pending.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                List<StreamEvent> batch;
+                synchronized (this) {
+                    if (pending.isEmpty() || closed) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending);
+                    pending.clear();
+                }
+                try {
+                    for (StreamEvent event : batch) {
+                        if (event == HEARTBEAT) {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } else {
+                            emitter.send(SseEmitter.event()
+                                .id(epoch + "-" + event.sequence())
+                                .name(event.name())
+                                .data(event.json()));
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the emitter callbacks may not fire for a broken socket
+                    synchronized (this) {
+                        closed = true;
+                        draining = false;
+                        pending.clear();
+                    }
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
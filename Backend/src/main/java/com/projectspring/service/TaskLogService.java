@@ -5,6 +5,8 @@ import com.projectspring.dto.TaskLogDTO;
 import com.projectspring.model.Task;
 import com.projectspring.model.TaskLog;
 import com.projectspring.model.User;
+import com.projectspring.model.enums.TaskStatus;
+import com.projectspring.repository.TaskAuditRepository;
 import com.projectspring.repository.TaskLogRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,44 +31,49 @@ public class TaskLogService {
     @Autowired
     private TaskLogRepository taskLogRepository;
     
+    @Autowired
+    private TaskAuditRepository taskAuditRepository;
+    
     @PersistenceContext
     private EntityManager entityManager;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
     
+    /**
+     * Records a task action. The entry is appended to task_audit_outbox in the caller's transaction
+     * and shows up in task_logs once TaskAuditWriter has expanded it, usually within a second.
+     */
     public void logTaskAction(Task task, String action, User changedBy, String changeReason, Object oldValue, Object newValue) {
-        TaskLog log = new TaskLog();
-        log.setTask(task);
-        log.setTaskTitle(task.getTitle());
-        log.setAction(action);
-        log.setChangedBy(changedBy);
-        log.setChangeReason(changeReason);
-        
+        String[] values = serialize(oldValue, newValue);
+        taskAuditRepository.append(task.getId(), task.getTitle(), action, values[0], values[1],
+            changedBy.getId(), changeReason, null, null, null, LocalDateTime.now());
+    }
+    
+    /**
+     * Records a status change: a STATUS_CHANGED task log and a task_status_history row, both
+     * written from one outbox entry.
+     */
+    public void logStatusChange(Task task, User changedBy, String changeReason, TaskStatus oldStatus,
+                                TaskStatus newStatus, LocalDate postponedToDate) {
+        String[] values = serialize(oldStatus.name(), newStatus.name());
+        taskAuditRepository.append(task.getId(), task.getTitle(), "STATUS_CHANGED", values[0], values[1],
+            changedBy.getId(), changeReason, oldStatus.name(), newStatus.name(), postponedToDate, LocalDateTime.now());
+    }
+    
+    // The snapshot has to be taken now: the task may change again before the entry is expanded
+    private String[] serialize(Object oldValue, Object newValue) {
         try {
-            if (oldValue != null) {
-                log.setOldValue(objectMapper.writeValueAsString(oldValue));
-            }
-            if (newValue != null) {
-                log.setNewValue(objectMapper.writeValueAsString(newValue));
-            }
+            return new String[] {
+                oldValue != null ? objectMapper.writeValueAsString(oldValue) : null,
+                newValue != null ? objectMapper.writeValueAsString(newValue) : null
+            };
         } catch (Exception e) {
             // If JSON serialization fails, store as string
-            log.setOldValue(oldValue != null ? oldValue.toString() : null);
-            log.setNewValue(newValue != null ? newValue.toString() : null);
-        }
-        
-        taskLogRepository.save(log);
-    }
-    
-    public void detachTaskFromLogs(Task task) {
-        List<TaskLog> logs = taskLogRepository.findByTask(task);
-        for (TaskLog log : logs) {
-            if (log.getTaskTitle() == null) {
-                log.setTaskTitle(task.getTitle());
-            }
-            log.setTask(null);
+            return new String[] {
+                oldValue != null ? oldValue.toString() : null,
+                newValue != null ? newValue.toString() : null
+            };
         }
-        taskLogRepository.saveAll(logs);
     }
     
     public Page<TaskLogDTO> getTaskLogs(Long taskId, Long userId, String action, 
@@ -0,0 +1,136 @@
+package com.projectspring.service;
+
+import com.projectspring.repository.TaskReadModelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Repair, rebuild and consistency check of task_read_model. Triggers refresh a task's row when
+ * the transaction that changed it commits, but concurrent transactions can still leave a row with
+ * what one of them saw (a task created while its team is renamed, say). The triggers also record
+ * every changed task in task_read_model_dirty; a repair pass on every replica re-checks those
+ * tasks once their writers are done and rewrites the stale rows. The nightly check walks all
+ * tasks for anything else, such as writes made with the triggers disabled.
+ */
+@Service
+public class TaskReadModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReadModelService.class);
+
+    @Autowired
+    private TaskReadModelRepository taskReadModelRepository;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.read-model.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.tasks.read-model.repair-delay-seconds:30}")
+    private int repairDelaySeconds;
+
+    @Value("${app.tasks.read-model.repair-max-batches-per-run:20}")
+    private int repairMaxBatchesPerRun;
+
+    /**
+     * Re-checks the tasks written since the last pass. Every replica runs it; each batch locks its
+     * entries with SKIP LOCKED, so replicas split the work instead of repeating it.
+     */
+    @Scheduled(fixedDelayString = "${app.tasks.read-model.repair-interval-ms:30000}",
+               initialDelayString = "${app.tasks.read-model.repair-interval-ms:30000}")
+    public void repairRecent() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int repaired = 0;
+        try {
+            for (int batch = 0; batch < repairMaxBatchesPerRun; batch++) {
+                TaskReadModelRepository.RepairResult result =
+                    transaction.execute(status -> taskReadModelRepository.repairDirtyBatch(repairDelaySeconds, batchSize));
+                repaired += result.repaired();
+                if (result.checked() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Task read model repair failed: {}", e.getMessage(), e);
+        }
+        if (repaired > 0) {
+            meterRegistry.counter("app.tasks.read-model.repaired.recent").increment(repaired);
+            logger.info("Task read model repair rewrote {} rows left stale by concurrent writes", repaired);
+        }
+    }
+
+    @Scheduled(cron = "${app.tasks.read-model.check-cron:0 30 4 * * ?}")
+    public void scheduledCheck() {
+        try {
+            check();
+        } catch (Exception e) {
+            logger.error("Task read model check failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks every row against its source tables and repairs the stale ones. Returns the number
+     * of rows repaired, or -1 when the check is already running on another replica.
+     */
+    public int check() {
+        AtomicInteger repaired = new AtomicInteger();
+        boolean ran = jobCoordinator.runExclusive("task-read-model-check", Duration.ofMinutes(10), () -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Long afterId = 0L;
+            while (afterId != null) {
+                long from = afterId;
+                TaskReadModelRepository.BatchResult result =
+                    transaction.execute(status -> taskReadModelRepository.repairBatch(from, batchSize));
+                repaired.addAndGet(result.rows());
+                afterId = result.lastId();
+            }
+            return repaired.get();
+        });
+        if (repaired.get() > 0) {
+            meterRegistry.counter("app.tasks.read-model.repaired").increment(repaired.get());
+            logger.warn("Task read model check repaired {} stale rows", repaired.get());
+        }
+        return ran ? repaired.get() : -1;
+    }
+
+    /**
+     * Rewrites every row from the source tables, one batch per transaction; list reads keep
+     * working meanwhile. Returns the number of rows written, or -1 when a rebuild is already
+     * running on another replica.
+     */
+    public int rebuild() {
+        AtomicInteger rebuilt = new AtomicInteger();
+        boolean ran = jobCoordinator.runExclusive("task-read-model-rebuild", Duration.ZERO, () -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Long afterId = 0L;
+            while (afterId != null) {
+                long from = afterId;
+                TaskReadModelRepository.BatchResult result =
+                    transaction.execute(status -> taskReadModelRepository.refreshBatch(from, batchSize));
+                rebuilt.addAndGet(result.rows());
+                afterId = result.lastId();
+            }
+            return rebuilt.get();
+        });
+        if (ran) {
+            logger.info("Task read model rebuilt ({} rows)", rebuilt.get());
+        }
+        return ran ? rebuilt.get() : -1;
+    }
+}
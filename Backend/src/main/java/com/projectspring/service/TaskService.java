@@ -1,6 +1,8 @@
 package com.projectspring.service;
 
 import com.projectspring.dto.*;
+import com.projectspring.event.TaskChangeEvent;
+import com.projectspring.exception.InvalidCursorException;
 import com.projectspring.model.*;
 import com.projectspring.model.enums.TaskStatus;
 import com.projectspring.repository.ProjectRepository;
@@ -9,14 +11,22 @@ import com.projectspring.model.enums.Priority;
 import com.projectspring.model.enums.Role;
 import com.projectspring.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +34,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class TaskService {
     
+    static final String TASKS_TOPIC = "tasks";
+    static final String TEAM_TASKS_TOPIC = "team-tasks";
+    
     @Autowired
     private TaskRepository taskRepository;
     
@@ -36,9 +49,6 @@ public class TaskService {
     @Autowired
     private SubtaskRepository subtaskRepository;
     
-    @Autowired
-    private TaskStatusHistoryRepository statusHistoryRepository;
-    
     @Autowired
     private TeamService teamService;
     
@@ -48,14 +58,54 @@ public class TaskService {
     @Autowired
     private TaskLogService taskLogService;
     
-    public List<TaskDTO> getTasks(Long teamId, Integer year, Integer month, Long projectId) {
+    @Autowired
+    private TaskDeadlineScheduler taskDeadlineScheduler;
+    
+    @Autowired
+    private AssignedTaskRepository assignedTaskRepository;
+    
+    @Autowired
+    private TaskSearchRepository taskSearchRepository;
+    
+    @Autowired
+    private TaskReadModelRepository taskReadModelRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private TaskEventHub taskEventHub;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.tasks.my-tasks.max-page-size:200}")
+    private int maxMyTasksPageSize;
+    
+    @Value("${app.tasks.search.max-page-size:100}")
+    private int maxSearchPageSize;
+    
+    @Value("${app.tasks.search.max-query-length:200}")
+    private int maxSearchQueryLength;
+    
+    /**
+     * Tasks of a team, a project or all accessible teams, optionally limited to a year or month
+     * of their start date. Only the id and the given {@code fields} are loaded and set.
+     */
+    public List<TaskDTO> getTasks(Long teamId, Integer year, Integer month, Long projectId, Set<TaskField> fields) {
         List<Long> accessibleTeamIds = teamService.getAccessibleTeamIds();
         
         if (teamId != null && !accessibleTeamIds.contains(teamId)) {
             throw new RuntimeException("Access denied to this team");
         }
         
-        List<Task> tasks;
+        // Takvim filtresi: yıl (ve ay) başlangıç tarihine göre
+        LocalDate startFrom = null;
+        LocalDate startBefore = null;
+        if (year != null) {
+            startFrom = LocalDate.of(year, month != null ? month : 1, 1);
+            startBefore = month != null ? startFrom.plusMonths(1) : startFrom.plusYears(1);
+        }
         
         // Eğer projectId verilmişse, direkt projeye ait task'ları getir
         if (projectId != null) {
@@ -77,38 +127,88 @@ public class TaskService {
             }
             
             // Projeye ait task'ları getir
-            if (year != null && month != null) {
-                tasks = taskRepository.findByProjectIdAndYearAndMonth(projectId, year, month);
-            } else if (year != null) {
-                tasks = taskRepository.findByProjectIdAndYear(projectId, year);
-            } else {
-                tasks = taskRepository.findByProjectId(projectId);
-            }
-        } else if (teamId != null) {
-            // Ekip bazlı filtreleme
-            if (year != null && month != null) {
-                tasks = taskRepository.findByTeamIdAndYearAndMonth(teamId, year, month);
-            } else if (year != null) {
-                tasks = taskRepository.findByTeamIdAndYear(teamId, year);
-            } else {
-                tasks = taskRepository.findByTeamId(teamId);
-            }
-        } else {
-            // Tüm erişilebilir ekiplerin task'ları
-            if (year != null && month != null) {
-                tasks = taskRepository.findByTeamIdsAndYearAndMonth(accessibleTeamIds, year, month);
-            } else if (year != null) {
-                tasks = taskRepository.findByTeamIdsAndYear(accessibleTeamIds, year);
-            } else {
-                tasks = accessibleTeamIds.stream()
-                    .flatMap(id -> taskRepository.findByTeamId(id).stream())
-                    .collect(Collectors.toList());
-            }
+            return taskReadModelRepository.findTasks(null, projectId, startFrom, startBefore, null, fields);
+        }
+        
+        // Ekip bazlı filtreleme, yoksa tüm erişilebilir ekiplerin task'ları
+        List<Long> teamIds = teamId != null ? List.of(teamId) : accessibleTeamIds;
+        return taskReadModelRepository.findTasks(teamIds, null, startFrom, startBefore, null, fields);
+    }
+    
+    /**
+     * The current user's tasks, ordered by end date, one page at a time. A task counts as the
+     * user's when they are among its assignees or, with {@code includeSubtasks}, when one of its
+     * subtasks is assigned to them. Only tasks of accessible teams are returned.
+     */
+    @Transactional(readOnly = true)
+    public TaskPageDTO getMyTasks(List<TaskStatus> statuses, List<Priority> priorities, LocalDate dueFrom,
+                                  LocalDate dueTo, boolean includeSubtasks, String cursor, int limit) {
+        User currentUser = getCurrentUser();
+        int pageSize = Math.min(Math.max(limit, 1), maxMyTasksPageSize);
+        List<Long> teamIds = teamService.getAccessibleTeamIds();
+        
+        LocalDate afterEndDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterEndDate = LocalDate.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+        
+        // One row more than the page tells whether there is a next page
+        List<TaskDTO> tasks = assignedTaskRepository.findPage(currentUser.getId(), includeSubtasks, teamIds,
+            statuses, priorities, dueFrom, dueTo, afterEndDate, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = new ArrayList<>(tasks.subList(0, pageSize));
+            TaskDTO last = tasks.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getEndDate(), last.getId());
+        }
+        
+        Map<Long, List<SubtaskDTO>> subtasks = assignedTaskRepository.findSubtasks(
+            tasks.stream().map(TaskDTO::getId).collect(Collectors.toList()));
+        tasks.forEach(task -> task.setSubtasks(subtasks.getOrDefault(task.getId(), new ArrayList<>())));
+        return new TaskPageDTO(tasks, nextCursor);
+    }
+    
+    /**
+     * Full-text search over task titles, contents and subtask titles of the accessible teams (or
+     * one of them), best match first, one page at a time.
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchPageDTO searchTasks(String query, Long teamId, List<TaskStatus> statuses, Long projectId,
+                                         String cursor, int limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (text.length() > maxSearchQueryLength) {
+            throw new IllegalArgumentException("Search query is longer than " + maxSearchQueryLength + " characters");
+        }
+        List<Long> accessibleTeamIds = teamService.getAccessibleTeamIds();
+        if (teamId != null && !accessibleTeamIds.contains(teamId)) {
+            throw new RuntimeException("Access denied");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), maxSearchPageSize);
+        
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeSearchCursor(cursor);
+            afterRank = Float.parseFloat(position[0]);
+            afterId = Long.parseLong(position[1]);
         }
         
-        return tasks.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        // One row more than the page tells whether there is a next page
+        List<TaskSearchHitDTO> hits = taskSearchRepository.search(text,
+            teamId != null ? List.of(teamId) : accessibleTeamIds, statuses, projectId, afterRank, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = new ArrayList<>(hits.subList(0, pageSize));
+            TaskSearchHitDTO last = hits.get(pageSize - 1);
+            nextCursor = encodeSearchCursor(last.getRank(), last.getId());
+        }
+        return new TaskSearchPageDTO(hits, nextCursor);
     }
     
     public TaskDTO getTaskById(Long id) {
@@ -193,8 +293,11 @@ public class TaskService {
         
         // Log task creation
         taskLogService.logTaskAction(task, "CREATED", currentUser, "Task created", null, convertToDTO(task));
+        taskDeadlineScheduler.track(task, true);
         
-        return convertToDTO(task);
+        TaskDTO taskDTO = convertToDTO(task);
+        publishChange(TaskChangeEvent.Type.CREATED, null, taskDTO, currentUser);
+        return taskDTO;
     }
     
     public TaskDTO updateTask(Long id, CreateTaskRequest request) {
@@ -210,6 +313,7 @@ public class TaskService {
         
         // Store old values for logging
         TaskDTO oldTaskDTO = convertToDTO(task);
+        LocalDate oldEndDate = task.getEndDate();
         
         task.setTitle(request.getTitle());
         task.setContent(request.getContent());
@@ -282,6 +386,8 @@ public class TaskService {
         // Log task update
         TaskDTO newTaskDTO = convertToDTO(task);
         taskLogService.logTaskAction(task, "UPDATED", currentUser, "Task updated", oldTaskDTO, newTaskDTO);
+        taskDeadlineScheduler.track(task, !Objects.equals(oldEndDate, task.getEndDate()));
+        publishChange(TaskChangeEvent.Type.UPDATED, oldTaskDTO, newTaskDTO, currentUser);
         
         return newTaskDTO;
     }
@@ -297,14 +403,14 @@ public class TaskService {
         
         User currentUser = getCurrentUser();
         
-        // Log task deletion before deleting
+        // Log task deletion before deleting; the foreign key sets task_logs.task_id to NULL,
+        // so the task's logs outlive it
         TaskDTO taskDTO = convertToDTO(task);
         taskLogService.logTaskAction(task, "DELETED", currentUser, "Task deleted", taskDTO, null);
         
-        // Task'a ait tüm log'ların task referansını null yap (log'lar korunsun)
-        taskLogService.detachTaskFromLogs(task);
-        
         taskRepository.delete(task);
+        taskDeadlineScheduler.untrack(id);
+        publishChange(TaskChangeEvent.Type.DELETED, taskDTO, null, currentUser);
     }
     
     public TaskDTO updateTaskStatus(Long id, UpdateTaskStatusRequest request) {
@@ -319,13 +425,7 @@ public class TaskService {
         User currentUser = getCurrentUser();
         TaskStatus oldStatus = task.getStatus();
         
-        // Status history kaydı
-        TaskStatusHistory history = new TaskStatusHistory();
-        history.setTask(task);
-        history.setOldStatus(oldStatus.name());
-        history.setNewStatus(request.getStatus().name());
-        history.setChangedBy(currentUser);
-        history.setChangeReason(request.getChangeReason());
+        LocalDate postponedToDate = null;
         
         // Ertelendi durumu
         if (request.getStatus() == TaskStatus.POSTPONED) {
@@ -333,7 +433,7 @@ public class TaskService {
             task.setPostponedFromDate(task.getEndDate());
             if (request.getPostponedToDate() != null) {
                 task.setPostponedToDate(request.getPostponedToDate());
-                history.setPostponedToDate(request.getPostponedToDate());
+                postponedToDate = request.getPostponedToDate();
             }
         } else {
             task.setIsPostponed(false);
@@ -341,22 +441,30 @@ public class TaskService {
         
         task.setStatus(request.getStatus());
         task = taskRepository.save(task);
-        statusHistoryRepository.save(history);
-        
-        // Log status change in task logs
-        taskLogService.logTaskAction(
-            task, 
-            "STATUS_CHANGED", 
-            currentUser, 
-            request.getChangeReason(), 
-            oldStatus.name(), 
-            request.getStatus().name()
-        );
         
-        return convertToDTO(task);
+        // Task log and status history rows are written by TaskAuditWriter
+        taskLogService.logStatusChange(task, currentUser, request.getChangeReason(), oldStatus,
+            request.getStatus(), postponedToDate);
+        taskDeadlineScheduler.track(task, false);
+        
+        TaskDTO taskDTO = convertToDTO(task);
+        publishChange(TaskChangeEvent.Type.STATUS_CHANGED, null, taskDTO, currentUser);
+        return taskDTO;
+    }
+    
+    /**
+     * Opens a stream of task changes for one team, or for all accessible teams when {@code teamId} is null.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamTaskChanges(Long teamId, String lastEventId) {
+        List<Long> accessibleTeamIds = teamService.getAccessibleTeamIds();
+        if (teamId != null && !accessibleTeamIds.contains(teamId)) {
+            throw new RuntimeException("Access denied to this team");
+        }
+        return taskEventHub.subscribe(teamId != null ? List.of(teamId) : accessibleTeamIds, lastEventId);
     }
     
-    public List<TaskDTO> getTasksByDateRange(LocalDate startDate, LocalDate endDate, Long teamId) {
+    public List<TaskDTO> getTasksByDateRange(LocalDate startDate, LocalDate endDate, Long teamId, Set<TaskField> fields) {
         List<Long> accessibleTeamIds = teamService.getAccessibleTeamIds();
         
         if (teamId != null && !accessibleTeamIds.contains(teamId)) {
@@ -365,9 +473,7 @@ public class TaskService {
         
         List<Long> teamIds = teamId != null ? List.of(teamId) : accessibleTeamIds;
         
-        return taskRepository.findByTeamIdsAndDateRange(teamIds, startDate, endDate).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return taskReadModelRepository.findTasks(teamIds, null, startDate, null, endDate, fields);
     }
     
     private TaskDTO convertToDTO(Task task) {
@@ -420,6 +526,61 @@ public class TaskService {
         return dto;
     }
     
+    // Queues notifications, streams the change to this node's clients and tells the other replicas which tasks and teams changed
+    private void publishChange(TaskChangeEvent.Type type, TaskDTO previous, TaskDTO current, User actor) {
+        eventPublisher.publishEvent(new TaskChangeEvent(type, previous, current, actor.getId()));
+        Long taskId = current != null ? current.getId() : previous.getId();
+        Set<Long> teamIds = new HashSet<>();
+        if (previous != null) {
+            teamIds.add(previous.getTeamId());
+        }
+        if (current != null) {
+            teamIds.add(current.getTeamId());
+        }
+        cacheInvalidationBus.publish(TASKS_TOPIC, List.of(taskId));
+        cacheInvalidationBus.publish(TEAM_TASKS_TOPIC, teamIds);
+    }
+    
+    // Opaque to clients: the (end date, id) of the last task on the page
+    private static String encodeCursor(LocalDate endDate, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((endDate + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDate.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+    
+    // The rank is a float4 and Float.toString round-trips it exactly, so the keyset comparison stays stable
+    private static String encodeSearchCursor(float rank, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeSearchCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Float.parseFloat(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+    
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -0,0 +1,94 @@
+package com.projectspring.util;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Minimal consecutive-failure circuit breaker.
+ * CLOSED lets every call through; after {@code failureThreshold} consecutive failures it
+ * turns OPEN and rejects calls for {@code openDuration}; then it turns HALF_OPEN and lets
+ * a single probe call through, whose outcome closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private String lastError;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openDuration.toMillis();
+    }
+
+    /**
+     * @return true if the call may proceed; the caller must then report
+     *         {@link #recordSuccess()} or {@link #recordFailure(String)}
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void recordFailure(String error) {
+        consecutiveFailures++;
+        lastError = error;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        lastError = null;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * @return when the next probe is allowed, or null if the circuit is not open
+     */
+    public synchronized Instant getRetryAt() {
+        return state == State.OPEN ? Instant.ofEpochMilli(openedAt + openMillis) : null;
+    }
+}
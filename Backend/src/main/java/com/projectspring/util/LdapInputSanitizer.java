@@ -72,6 +72,49 @@ public class LdapInputSanitizer {
         return sb.toString();
     }
     
+    /**
+     * Validates an admin-supplied search filter such as {@code (departmentNumber=42)}: it must be a
+     * single parenthesised filter with balanced parentheses. Special characters inside values must
+     * be escaped ({@code \28} for a literal parenthesis).
+     * @param filter The filter to validate
+     * @return Trimmed filter
+     * @throws IllegalArgumentException if the filter is blank or malformed
+     */
+    public static String validateSearchFilter(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filter cannot be empty");
+        }
+
+        String trimmed = filter.trim();
+        if (trimmed.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Filter contains invalid characters");
+        }
+        if (trimmed.charAt(0) != '(' || trimmed.charAt(trimmed.length() - 1) != ')') {
+            throw new IllegalArgumentException("Filter must be enclosed in parentheses, e.g. (departmentNumber=42)");
+        }
+
+        int depth = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '(') {
+                if (i + 1 < trimmed.length() && trimmed.charAt(i + 1) == ')') {
+                    throw new IllegalArgumentException("Filter contains an empty component");
+                }
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                // Closing the outermost parenthesis before the end means two top-level filters
+                if (depth < 0 || (depth == 0 && i < trimmed.length() - 1)) {
+                    throw new IllegalArgumentException("Filter has unbalanced parentheses");
+                }
+            }
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("Filter has unbalanced parentheses");
+        }
+        return trimmed;
+    }
+
     /**
      * Validates that a string doesn't contain LDAP injection patterns
      * @param input The input to validate
@@ -0,0 +1,116 @@
+package com.projectspring.config;
+
+import com.projectspring.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryBudgetTest {
+
+    private PreparedStatement statement;
+    private DataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new StatementCountingDataSource(pool, QueryBudgetTracker::record);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void honoursTheHandlerBudget() throws Exception {
+        MockMvc mvc = mockMvc(50, true);
+
+        mvc.perform(get("/budgeted").param("statements", "2")).andExpect(status().isOk());
+
+        ServletException failure = assertThrows(ServletException.class,
+            () -> mvc.perform(get("/budgeted").param("statements", "3")));
+        assertInstanceOf(QueryBudgetExceededException.class, failure.getCause());
+        // The statement over budget is rejected before it runs
+        verify(statement, times(4)).executeUpdate();
+    }
+
+    @Test
+    void appliesTheDefaultBudgetWithoutAnnotation() throws Exception {
+        MockMvc mvc = mockMvc(3, true);
+
+        mvc.perform(get("/unbudgeted").param("statements", "3")).andExpect(status().isOk());
+        assertThrows(ServletException.class, () -> mvc.perform(get("/unbudgeted").param("statements", "4")));
+    }
+
+    @Test
+    void onlyReportsOverrunsWhenNotEnforced() throws Exception {
+        MockMvc mvc = mockMvc(50, false);
+
+        mvc.perform(get("/budgeted").param("statements", "5"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("ok"));
+
+        verify(statement, times(5)).executeUpdate();
+        assertEquals(5.0, meterRegistry.summary("app.http.statements", "uri", "/budgeted").totalAmount());
+    }
+
+    private MockMvc mockMvc(int defaultBudget, boolean failOnExceed) {
+        return MockMvcBuilders.standaloneSetup(new StatementController(new JdbcTemplate(dataSource)))
+            .addFilters(new QueryBudgetFilter(defaultBudget, 3, 60_000, failOnExceed, meterRegistry))
+            .addInterceptors(new QueryBudgetInterceptor())
+            .build();
+    }
+
+    @RestController
+    static class StatementController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        StatementController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/budgeted")
+        @QueryBudget(2)
+        String budgeted(@RequestParam int statements) {
+            return run(statements);
+        }
+
+        @GetMapping("/unbudgeted")
+        String unbudgeted(@RequestParam int statements) {
+            return run(statements);
+        }
+
+        // JdbcTemplate statements, which a Hibernate-only count would miss
+        private String run(int statements) {
+            for (int i = 0; i < statements; i++) {
+                jdbcTemplate.update("UPDATE tasks SET title = title WHERE id = ?", i);
+            }
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.projectspring.config;
+
+import com.projectspring.model.LdapSettings;
+import com.projectspring.service.EncryptionService;
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ldap.AuthenticationException;
+import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+
+import javax.naming.directory.DirContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshableLdapContextSourceTest {
+
+    private static final String BASE = "dc=example,dc=com";
+    private static final String SERVICE_DN = "cn=service," + BASE;
+    private static final String USER_DN = "uid=alice,ou=users," + BASE;
+
+    private InMemoryDirectoryServer server;
+    private RefreshableLdapContextSource contextSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE);
+        config.addAdditionalBindCredentials(SERVICE_DN, "service-secret");
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE, "objectClass: top", "objectClass: domain", "dc: example");
+        server.add("dn: ou=users," + BASE, "objectClass: top", "objectClass: organizationalUnit", "ou: users");
+        server.add("dn: " + USER_DN, "objectClass: top", "objectClass: person", "objectClass: inetOrgPerson",
+            "uid: alice", "cn: Alice", "sn: Alice", "userPassword: alice-secret");
+        server.startListening();
+
+        EncryptionService encryptionService = mock(EncryptionService.class);
+        when(encryptionService.decrypt("encrypted")).thenReturn("service-secret");
+
+        LdapSettings settings = new LdapSettings();
+        settings.setUrls("ldap://localhost:" + server.getListenPort());
+        settings.setUsername(SERVICE_DN);
+        settings.setPasswordEncrypted("encrypted");
+        settings.setIsEnabled(true);
+
+        contextSource = new RefreshableLdapContextSource(new PoolConfig(), true, 1000, encryptionService);
+        contextSource.refresh(settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contextSource.destroy();
+        server.shutDown(true);
+    }
+
+    @Test
+    void bindsUsersWithThePoolEnabled() throws Exception {
+        assertTrue(contextSource.isPooled());
+
+        // The call LdapAuthService makes for a login
+        DirContext userContext = new LdapTemplate(contextSource).getContextSource().getContext(USER_DN, "alice-secret");
+        assertNotNull(userContext);
+        userContext.close();
+
+        assertThrows(AuthenticationException.class, () -> contextSource.getContext(USER_DN, "wrong"));
+        // User binds never borrow from the pool
+        assertEquals(0, contextSource.getNumActive());
+        assertEquals(0, contextSource.getNumIdle());
+    }
+
+    @Test
+    void poolsServiceAccountContexts() throws Exception {
+        DirContext context = contextSource.getReadOnlyContext();
+        assertEquals(1, contextSource.getNumActive());
+        context.close();
+        assertEquals(0, contextSource.getNumActive());
+        assertEquals(1, contextSource.getNumIdle());
+    }
+}
@@ -0,0 +1,104 @@
+package com.projectspring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectspring.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskEventHubTest {
+
+    private TaskEventHub hub;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new TaskEventHub();
+        ReflectionTestUtils.setField(hub, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(hub, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(hub, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(hub, "replaySize", 10);
+        ReflectionTestUtils.setField(hub, "maxConnections", 1);
+        ReflectionTestUtils.setField(hub, "maxPendingEvents", 10);
+        ReflectionTestUtils.setField(hub, "timeoutMinutes", 30L);
+        ReflectionTestUtils.setField(hub, "heartbeatSeconds", 25L);
+        ReflectionTestUtils.setField(hub, "sendThreads", 1);
+        hub.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void timedOutStreamEndsNormally() throws Exception {
+        MockMvc mvc = mockMvc();
+        MvcResult result = mvc.perform(get("/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(0.0, meterRegistry.get("app.tasks.stream.connections").gauge().value());
+    }
+
+    @Test
+    void rejectsStreamsOverTheCapWith503() throws Exception {
+        MockMvc mvc = mockMvc();
+        mvc.perform(get("/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted());
+
+        mvc.perform(get("/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.message").value("Too many open task streams"));
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new StreamController(hub))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final TaskEventHub hub;
+
+        StreamController(TaskEventHub hub) {
+            this.hub = hub;
+        }
+
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        SseEmitter stream() {
+            return hub.subscribe(List.of(1L), null);
+        }
+    }
+}
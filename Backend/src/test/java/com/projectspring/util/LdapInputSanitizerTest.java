@@ -0,0 +1,31 @@
+package com.projectspring.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LdapInputSanitizerTest {
+
+    @Test
+    void acceptsWellFormedFilters() {
+        assertEquals("(departmentNumber=42)", LdapInputSanitizer.validateSearchFilter("  (departmentNumber=42) "));
+        assertEquals("(&(objectClass=person)(|(ou=dev)(ou=ops)))",
+            LdapInputSanitizer.validateSearchFilter("(&(objectClass=person)(|(ou=dev)(ou=ops)))"));
+        assertEquals("(cn=Smith \\28IT\\29)", LdapInputSanitizer.validateSearchFilter("(cn=Smith \\28IT\\29)"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "departmentNumber=42", "(departmentNumber=42", "(ou=dev))",
+        "(ou=dev)(ou=ops)", "(&(ou=dev)", "()", "(&()(ou=dev))", "(ou=dev)x)"})
+    void rejectsMalformedFilters(String filter) {
+        assertThrows(IllegalArgumentException.class, () -> LdapInputSanitizer.validateSearchFilter(filter));
+    }
+
+    @Test
+    void rejectsMissingFilter() {
+        assertThrows(IllegalArgumentException.class, () -> LdapInputSanitizer.validateSearchFilter(null));
+    }
+}
@@ -121,6 +121,20 @@ const SystemHealth: React.FC = () => {
             <div className="health-message">{health.frontendMessage}</div>
           )}
         </div>
+        {health.ldapStatus && (
+          <div className="health-card">
+            <div className="health-label">LDAP</div>
+            <div
+              className="health-status"
+              style={{ color: getStatusColor(health.ldapStatus) }}
+            >
+              {getStatusText(health.ldapStatus)}
+            </div>
+            {health.ldapMessage && (
+              <div className="health-message">{health.ldapMessage}</div>
+            )}
+          </div>
+        )}
       </div>
       {health.lastChecked && (
         <div className="health-last-checked">
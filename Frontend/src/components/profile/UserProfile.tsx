@@ -1,14 +1,30 @@
 import React, { useEffect, useState } from 'react';
+import { addDays, format } from 'date-fns';
 import { useAuth } from '../../hooks/useAuth';
 import { userService } from '../../services/userService';
 import { Task, TaskStatus } from '../../types/Task';
 import { getStatusLabel } from '../../utils/statusColors';
 import './UserProfile.css';
 
+const PAGE_SIZE = 50;
+const ACTIVE_STATUSES = [
+  TaskStatus.OPEN,
+  TaskStatus.IN_PROGRESS,
+  TaskStatus.TESTING,
+  TaskStatus.POSTPONED,
+  TaskStatus.OVERDUE,
+];
+
 const UserProfile: React.FC = () => {
   const { user } = useAuth();
   const [tasks, setTasks] = useState<Task[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [deadlineTasks, setDeadlineTasks] = useState<Task[]>([]);
+  const [hasMoreDeadlineTasks, setHasMoreDeadlineTasks] = useState(false);
+  const [newTasks, setNewTasks] = useState<Task[]>([]);
+  const [hasMoreNewTasks, setHasMoreNewTasks] = useState(false);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [fullName, setFullName] = useState('');
   const [oldPassword, setOldPassword] = useState('');
   const [newPassword, setNewPassword] = useState('');
@@ -24,11 +40,26 @@ const UserProfile: React.FC = () => {
     }
   }, [user]);
 
+  // The first page of all tasks, plus the two panels filtered on the server, so none of them
+  // needs every page
   const fetchTasks = async () => {
     try {
       setLoading(true);
-      const data = await userService.getMyTasks();
-      setTasks(data);
+      const [page, deadlinePage, newPage] = await Promise.all([
+        userService.getMyTasks({ limit: PAGE_SIZE }),
+        userService.getMyTasks({
+          status: ACTIVE_STATUSES,
+          dueTo: format(addDays(new Date(), 7), 'yyyy-MM-dd'),
+          limit: PAGE_SIZE,
+        }),
+        userService.getMyTasks({ status: [TaskStatus.OPEN], limit: PAGE_SIZE }),
+      ]);
+      setTasks(page.items);
+      setNextCursor(page.nextCursor);
+      setDeadlineTasks(deadlinePage.items);
+      setHasMoreDeadlineTasks(deadlinePage.nextCursor !== null);
+      setNewTasks(newPage.items);
+      setHasMoreNewTasks(newPage.nextCursor !== null);
     } catch (error) {
       console.error('Failed to fetch tasks:', error);
     } finally {
@@ -36,6 +67,20 @@ const UserProfile: React.FC = () => {
     }
   };
 
+  const loadMoreTasks = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await userService.getMyTasks({ cursor: nextCursor, limit: PAGE_SIZE });
+      setTasks((loaded) => [...loaded, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Failed to fetch tasks:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleUpdateProfile = async (e: React.FormEvent) => {
     e.preventDefault();
     if (!fullName.trim()) {
@@ -97,31 +142,18 @@ const UserProfile: React.FC = () => {
   };
 
   // ========= COMPUTED STATS =========
+  // Over the pages loaded so far; counts get a "+" while more pages remain
   const now = new Date();
   const today = new Date(now.getFullYear(), now.getMonth(), now.getDate());
+  const hasMoreTasks = nextCursor !== null;
+  const countLabel = (count: number, more: boolean): string => (more ? `${count}+` : `${count}`);
 
-  const activeTasks = tasks.filter(
-    (t) => t.status !== TaskStatus.COMPLETED && t.status !== TaskStatus.CANCELLED
-  );
   const inProgressTasks = tasks.filter(
     (t) => t.status === TaskStatus.IN_PROGRESS || t.status === TaskStatus.TESTING
   );
   const completedTasks = tasks.filter((t) => t.status === TaskStatus.COMPLETED);
   const completionRate = tasks.length > 0 ? Math.round((completedTasks.length / tasks.length) * 100) : 0;
 
-  // Deadline approaching: active tasks with endDate within 7 days
-  const deadlineTasks = activeTasks
-    .filter((t) => {
-      if (!t.endDate) return false;
-      const end = new Date(t.endDate);
-      const diffDays = Math.ceil((end.getTime() - today.getTime()) / (1000 * 60 * 60 * 24));
-      return diffDays <= 7;
-    })
-    .sort((a, b) => new Date(a.endDate).getTime() - new Date(b.endDate).getTime());
-
-  // New tasks: OPEN status
-  const newTasks = tasks.filter((t) => t.status === TaskStatus.OPEN);
-
   const getDaysRemaining = (endDate: string): number => {
     const end = new Date(endDate);
     return Math.ceil((end.getTime() - today.getTime()) / (1000 * 60 * 60 * 24));
@@ -210,21 +242,21 @@ const UserProfile: React.FC = () => {
             <div className="stat-card stat-total">
               <div className="stat-icon">📋</div>
               <div className="stat-content">
-                <div className="stat-value">{tasks.length}</div>
+                <div className="stat-value">{countLabel(tasks.length, hasMoreTasks)}</div>
                 <div className="stat-label">Toplam İş</div>
               </div>
             </div>
             <div className="stat-card stat-active">
               <div className="stat-icon">⚡</div>
               <div className="stat-content">
-                <div className="stat-value">{inProgressTasks.length}</div>
+                <div className="stat-value">{countLabel(inProgressTasks.length, hasMoreTasks)}</div>
                 <div className="stat-label">Devam Eden</div>
               </div>
             </div>
             <div className="stat-card stat-completed">
               <div className="stat-icon">✅</div>
               <div className="stat-content">
-                <div className="stat-value">{completedTasks.length}</div>
+                <div className="stat-value">{countLabel(completedTasks.length, hasMoreTasks)}</div>
                 <div className="stat-label">Tamamlanan</div>
                 <div className="stat-sub">{completionRate}% tamamlanma</div>
               </div>
@@ -245,7 +277,7 @@ const UserProfile: React.FC = () => {
             <div className="stat-card stat-open">
               <div className="stat-icon">🆕</div>
               <div className="stat-content">
-                <div className="stat-value">{newTasks.length}</div>
+                <div className="stat-value">{countLabel(newTasks.length, hasMoreNewTasks)}</div>
                 <div className="stat-label">Yeni İş</div>
               </div>
             </div>
@@ -258,7 +290,7 @@ const UserProfile: React.FC = () => {
               <div className="section-header">
                 <h3>🔥 Son Günü Yaklaşan İşler</h3>
                 {deadlineTasks.length > 0 && (
-                  <span className="section-count">{deadlineTasks.length}</span>
+                  <span className="section-count">{countLabel(deadlineTasks.length, hasMoreDeadlineTasks)}</span>
                 )}
               </div>
               <div className="section-content">
@@ -309,7 +341,7 @@ const UserProfile: React.FC = () => {
               <div className="section-header">
                 <h3>🆕 Yeni Atanan İşler</h3>
                 {newTasks.length > 0 && (
-                  <span className="section-count">{newTasks.length}</span>
+                  <span className="section-count">{countLabel(newTasks.length, hasMoreNewTasks)}</span>
                 )}
               </div>
               <div className="section-content">
@@ -351,7 +383,7 @@ const UserProfile: React.FC = () => {
           <div className="dashboard-section full-width">
             <div className="section-header">
               <h3>📋 Tüm İşler</h3>
-              <span className="section-count">{tasks.length}</span>
+              <span className="section-count">{countLabel(tasks.length, hasMoreTasks)}</span>
             </div>
             <div className="section-content">
               {loading ? (
@@ -397,6 +429,11 @@ const UserProfile: React.FC = () => {
                       ))}
                     </tbody>
                   </table>
+                  {hasMoreTasks && (
+                    <button className="btn-load-more" onClick={loadMoreTasks} disabled={loadingMore}>
+                      {loadingMore ? 'Yükleniyor...' : 'Daha fazla yükle'}
+                    </button>
+                  )}
                 </div>
               )}
             </div>
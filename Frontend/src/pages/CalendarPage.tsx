@@ -10,6 +10,7 @@ import { Task, TaskStatus } from '../types/Task';
 import { Project } from '../types/Project';
 import { taskService } from '../services/taskService';
 import { projectService } from '../services/projectService';
+import { subscribeToTaskChanges } from '../services/taskStream';
 import { getMonthName, getWeeksInMonth } from '../utils/dateUtils';
 import { useSidebar } from '../hooks/useSidebar';
 import '../App.css';
@@ -47,6 +48,34 @@ const CalendarPage: React.FC = () => {
     fetchTasks();
   }, [selectedYear, selectedTeamId, selectedProjectId]);
 
+  // Apply task changes made by others as they happen instead of waiting for a reload
+  useEffect(() => {
+    const refetch = async () => {
+      try {
+        const data = await taskService.getTasks(selectedTeamId || undefined, selectedYear, undefined, selectedProjectId || undefined);
+        setTasks(data);
+      } catch (error) {
+        console.error('Failed to refresh tasks:', error);
+      }
+    };
+
+    return subscribeToTaskChanges(selectedTeamId || undefined, (event) => {
+      switch (event.type) {
+        case 'updated':
+        case 'status':
+          setTasks((current) => current.map((task) =>
+            task.id === event.taskId ? { ...task, ...event.task } : task));
+          break;
+        case 'deleted':
+          setTasks((current) => current.filter((task) => task.id !== event.taskId));
+          break;
+        default:
+          // created, refresh and reset: the year and project filters are applied by the server
+          refetch();
+      }
+    });
+  }, [selectedYear, selectedTeamId, selectedProjectId]);
+
   useEffect(() => {
     const fetchProjects = async () => {
       try {
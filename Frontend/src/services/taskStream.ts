@@ -0,0 +1,84 @@
+import { Task } from '../types/Task';
+
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || '/api';
+const RECONNECT_DELAY_MS = 3000;
+
+export type TaskStreamEventType = 'created' | 'updated' | 'status' | 'deleted' | 'refresh' | 'reset';
+
+export interface TaskStreamEvent {
+  type: TaskStreamEventType;
+  taskId?: number;
+  teamId?: number;
+  task?: Partial<Task>;
+}
+
+/**
+ * Follows GET /tasks/stream and calls onEvent for every task change. EventSource cannot send the
+ * Authorization header, so the stream is read with fetch; it reconnects with Last-Event-ID until
+ * the returned function is called.
+ */
+export const subscribeToTaskChanges = (
+  teamId: number | undefined,
+  onEvent: (event: TaskStreamEvent) => void
+): (() => void) => {
+  const controller = new AbortController();
+  let lastEventId: string | null = null;
+
+  const dispatch = (block: string) => {
+    let type = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith(':')) continue; // heartbeat
+      const separator = line.indexOf(':');
+      const field = separator === -1 ? line : line.substring(0, separator);
+      const value = separator === -1 ? '' : line.substring(separator + 1).replace(/^ /, '');
+      if (field === 'id') lastEventId = value;
+      else if (field === 'event') type = value;
+      else if (field === 'data') data.push(value);
+    }
+    if (data.length === 0) return;
+    try {
+      onEvent({ type: type as TaskStreamEventType, ...JSON.parse(data.join('\n')) });
+    } catch (error) {
+      console.error('Failed to handle task stream event:', error);
+    }
+  };
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers: Record<string, string> = { Accept: 'text/event-stream' };
+        const token = localStorage.getItem('token');
+        if (token) headers.Authorization = `Bearer ${token}`;
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+        const query = teamId ? `?teamId=${teamId}` : '';
+        const response = await fetch(`${API_BASE_URL}/tasks/stream${query}`, { headers, signal: controller.signal });
+        if (!response.ok || !response.body) {
+          throw new Error(`Task stream responded with ${response.status}`);
+        }
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+          let end;
+          while ((end = buffer.indexOf('\n\n')) !== -1) {
+            dispatch(buffer.substring(0, end));
+            buffer = buffer.substring(end + 2);
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.warn('Task stream disconnected:', error);
+      }
+      await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
@@ -1,6 +1,6 @@
 import api from './api';
 import { User } from '../types/User';
-import { Task } from '../types/Task';
+import { MyTasksQuery, TaskPage } from '../types/Task';
 
 export const userService = {
   getAllUsers: async (): Promise<User[]> => {
@@ -8,8 +8,14 @@ export const userService = {
     return response.data;
   },
 
-  getMyTasks: async (): Promise<Task[]> => {
-    const response = await api.get<Task[]>('/users/me/tasks');
+  getMyTasks: async (query: MyTasksQuery = {}): Promise<TaskPage> => {
+    const params = new URLSearchParams();
+    query.status?.forEach((status) => params.append('status', status));
+    if (query.dueTo) params.append('dueTo', query.dueTo);
+    if (query.cursor) params.append('cursor', query.cursor);
+    params.append('limit', (query.limit ?? 50).toString());
+
+    const response = await api.get<TaskPage>(`/users/me/tasks?${params.toString()}`);
     return response.data;
   },
 
@@ -19,6 +19,8 @@ export interface Project {
   taskCount?: number;
   completedTaskCount?: number;
   activeTaskCount?: number;
+  statusCounts?: Record<string, number>;
+  overdueTaskCount?: number;
 }
 
 export interface CreateProjectRequest {
@@ -8,9 +8,12 @@ export interface SystemHealth {
   backendStatus: HealthStatus;
   databaseStatus: HealthStatus;
   frontendStatus: HealthStatus;
+  ldapStatus?: HealthStatus;
   lastChecked: string;
   backendMessage?: string;
   databaseMessage?: string;
   frontendMessage?: string;
+  ldapMessage?: string;
+  ldapCircuitState?: string;
 }
 
@@ -90,3 +90,15 @@ export interface UpdateTaskStatusRequest {
   postponedToDate?: string;
 }
 
+export interface TaskPage {
+  items: Task[];
+  nextCursor: string | null;
+}
+
+// Filters of GET /users/me/tasks; pass the previous page's nextCursor to get the next page
+export interface MyTasksQuery {
+  status?: TaskStatus[];
+  dueTo?: string;
+  cursor?: string | null;
+  limit?: number;
+}